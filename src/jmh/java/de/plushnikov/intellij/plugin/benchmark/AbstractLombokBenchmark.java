@@ -0,0 +1,72 @@
+package de.plushnikov.intellij.plugin.benchmark;
+
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.util.ThrowableComputable;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiJavaFile;
+import com.intellij.testFramework.EdtTestUtil;
+import com.intellij.testFramework.fixtures.*;
+import de.plushnikov.intellij.plugin.LombokTestUtil;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Objects;
+
+/**
+ * Base class for JMH benchmarks, which runs every trial in a light project with lombok library attached.
+ * <p>
+ * Warm paths are measured on the files of the project with all caches filled. Cold paths are measured as single shots
+ * on fresh non-physical copies of these files, created before every iteration, so no invalidation of the whole project
+ * on the EDT distorts the measured invocations.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public abstract class AbstractLombokBenchmark {
+  protected JavaCodeInsightTestFixture myFixture;
+
+  @Setup(Level.Trial)
+  public void setUpFixture() throws Throwable {
+    final TestFixtureBuilder<IdeaProjectTestFixture> projectBuilder =
+      IdeaTestFixtureFactory.getFixtureFactory().createLightFixtureBuilder(LombokTestUtil.LOMBOK_DESCRIPTOR, getClass().getSimpleName());
+    myFixture = JavaTestFixtureFactory.getFixtureFactory().createCodeInsightFixture(projectBuilder.getFixture());
+    EdtTestUtil.runInEdtAndWait(() -> {
+      myFixture.setUp();
+      setUpTestData();
+    });
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDownFixture() throws Throwable {
+    EdtTestUtil.runInEdtAndWait(() -> myFixture.tearDown());
+  }
+
+  /**
+   * Creates all files of the benchmark, called in EDT after the fixture is set up
+   */
+  protected abstract void setUpTestData() throws Exception;
+
+  protected PsiJavaFile addJavaFile(String relativePath, String text) {
+    return (PsiJavaFile)myFixture.addFileToProject(relativePath, text);
+  }
+
+  /**
+   * Returns the same class in a non-physical copy of its file, nothing is computed and cached for the copy yet.
+   * The copy is resolved against the project like the original file
+   */
+  protected static PsiClass coldCopyOf(PsiClass psiClass) {
+    return inReadAction(() -> {
+      final PsiJavaFile fileCopy = (PsiJavaFile)psiClass.getContainingFile().copy();
+      for (PsiClass classCopy : fileCopy.getClasses()) {
+        if (Objects.equals(psiClass.getName(), classCopy.getName())) {
+          return classCopy;
+        }
+      }
+      throw new IllegalStateException("Class " + psiClass.getName() + " not found in the copy of its file");
+    });
+  }
+
+  protected static <T> T inReadAction(ThrowableComputable<T, RuntimeException> computable) {
+    return ReadAction.compute(computable);
+  }
+}
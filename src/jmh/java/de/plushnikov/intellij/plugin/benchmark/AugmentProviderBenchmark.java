@@ -0,0 +1,79 @@
+package de.plushnikov.intellij.plugin.benchmark;
+
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiMethod;
+import de.plushnikov.intellij.plugin.provider.LombokAugmentProvider;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures generation of all lombok methods of a {@code @Data @Builder} class with growing number of fields,
+ * answered from the caches (warm) and computed for a fresh copy of the class (cold)
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class AugmentProviderBenchmark extends AbstractLombokBenchmark {
+
+  @Param({"10", "100", "500"})
+  public int fieldCount;
+
+  private final LombokAugmentProvider myAugmentProvider = new LombokAugmentProvider();
+  private PsiClass myPsiClass;
+  private PsiClass myColdPsiClass;
+
+  @Override
+  protected void setUpTestData() {
+    StringBuilder text = new StringBuilder("@lombok.Data @lombok.Builder public class Foo {\n");
+    for (int i = 0; i < fieldCount; i++) {
+      text.append("  private String bar").append(i).append(";\n");
+    }
+    text.append("}\n");
+    myPsiClass = addJavaFile("Foo.java", text.toString()).getClasses()[0];
+  }
+
+  @Setup(Level.Iteration)
+  public void createColdCopy() {
+    myColdPsiClass = coldCopyOf(myPsiClass);
+  }
+
+  @Benchmark
+  public List<PsiMethod> allMethods() {
+    return inReadAction(() -> myAugmentProvider.getAugments(myPsiClass, PsiMethod.class));
+  }
+
+  @Benchmark
+  public List<PsiMethod> methodsByName() {
+    return inReadAction(() -> myAugmentProvider.getAugments(myPsiClass, PsiMethod.class, "getBar0"));
+  }
+
+  @Benchmark
+  public List<PsiClass> innerClasses() {
+    return inReadAction(() -> myAugmentProvider.getAugments(myPsiClass, PsiClass.class));
+  }
+
+  @Benchmark
+  public PsiElement[] allMethodsThroughPsiClass() {
+    return inReadAction(() -> myPsiClass.getMethods());
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.SingleShotTime)
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  @Warmup(iterations = 10)
+  @Measurement(iterations = 30)
+  public List<PsiMethod> allMethodsCold() {
+    return inReadAction(() -> myAugmentProvider.getAugments(myColdPsiClass, PsiMethod.class));
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.SingleShotTime)
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  @Warmup(iterations = 10)
+  @Measurement(iterations = 30)
+  public List<PsiMethod> methodsByNameCold() {
+    return inReadAction(() -> myAugmentProvider.getAugments(myColdPsiClass, PsiMethod.class, "getBar0"));
+  }
+}
@@ -0,0 +1,47 @@
+package de.plushnikov.intellij.plugin.benchmark;
+
+import com.intellij.psi.PsiAnnotation;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiMethod;
+import de.plushnikov.intellij.plugin.LombokClassNames;
+import de.plushnikov.intellij.plugin.processor.handler.BuilderHandler;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures creation of the complete builder class for a {@code @Builder} class with growing number of fields
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class BuilderHandlerBenchmark extends AbstractLombokBenchmark {
+
+  @Param({"10", "60", "300"})
+  public int fieldCount;
+
+  private final BuilderHandler myBuilderHandler = new BuilderHandler();
+  private PsiClass myPsiClass;
+  private PsiAnnotation myBuilderAnnotation;
+
+  @Override
+  protected void setUpTestData() {
+    StringBuilder text = new StringBuilder("import lombok.Builder; import lombok.Singular; import java.util.List;\n");
+    text.append("@Builder(toBuilder = true) public class Foo {\n");
+    for (int i = 0; i < fieldCount; i++) {
+      if (i % 10 == 0) {
+        text.append("  @Singular private List<String> items").append(i).append(";\n");
+      }
+      else {
+        text.append("  private String bar").append(i).append(";\n");
+      }
+    }
+    text.append("}\n");
+    myPsiClass = addJavaFile("Foo.java", text.toString()).getClasses()[0];
+    myBuilderAnnotation = myPsiClass.getAnnotation(LombokClassNames.BUILDER);
+  }
+
+  @Benchmark
+  public PsiMethod[] builderClassMethods() {
+    return inReadAction(() -> myBuilderHandler.createBuilderClass(myPsiClass, null, myBuilderAnnotation).getMethods());
+  }
+}
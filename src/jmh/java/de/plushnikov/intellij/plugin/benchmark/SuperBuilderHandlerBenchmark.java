@@ -0,0 +1,84 @@
+package de.plushnikov.intellij.plugin.benchmark;
+
+import com.intellij.psi.PsiAnnotation;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiMethod;
+import de.plushnikov.intellij.plugin.LombokClassNames;
+import de.plushnikov.intellij.plugin.processor.handler.SuperBuilderHandler;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures creation of the builder base class for the leaf of a {@code @SuperBuilder} hierarchy with growing depth,
+ * with all caches filled (warm) and for a fresh copy of the leaf class (cold). The cold copy still extends the classes
+ * of the project, so only the leaf itself is computed again, as after typing in it
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class SuperBuilderHandlerBenchmark extends AbstractLombokBenchmark {
+
+  @Param({"1", "4", "8"})
+  public int hierarchyDepth;
+
+  @Param({"10", "50"})
+  public int fieldsPerClass;
+
+  private final SuperBuilderHandler mySuperBuilderHandler = new SuperBuilderHandler();
+  private PsiClass myLeafClass;
+  private PsiAnnotation mySuperBuilderAnnotation;
+  private PsiClass myColdLeafClass;
+  private PsiAnnotation myColdSuperBuilderAnnotation;
+
+  @Override
+  protected void setUpTestData() {
+    for (int level = 0; level < hierarchyDepth; level++) {
+      StringBuilder text = new StringBuilder("@lombok.experimental.SuperBuilder public class Level").append(level);
+      if (level > 0) {
+        text.append(" extends Level").append(level - 1);
+      }
+      text.append(" {\n");
+      for (int i = 0; i < fieldsPerClass; i++) {
+        text.append("  private String level").append(level).append("Field").append(i).append(";\n");
+      }
+      text.append("}\n");
+      myLeafClass = addJavaFile("Level" + level + ".java", text.toString()).getClasses()[0];
+    }
+    mySuperBuilderAnnotation = myLeafClass.getAnnotation(LombokClassNames.SUPER_BUILDER);
+  }
+
+  @Setup(Level.Iteration)
+  public void createColdCopy() {
+    myColdLeafClass = coldCopyOf(myLeafClass);
+    myColdSuperBuilderAnnotation = inReadAction(() -> myColdLeafClass.getAnnotation(LombokClassNames.SUPER_BUILDER));
+  }
+
+  @Benchmark
+  public PsiMethod[] builderBaseClassMethods() {
+    return inReadAction(() -> mySuperBuilderHandler.createBuilderBaseClass(myLeafClass, mySuperBuilderAnnotation).getMethods());
+  }
+
+  @Benchmark
+  public PsiMethod[] leafClassMethods() {
+    return inReadAction(() -> myLeafClass.getMethods());
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.SingleShotTime)
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  @Warmup(iterations = 10)
+  @Measurement(iterations = 30)
+  public PsiMethod[] builderBaseClassMethodsCold() {
+    return inReadAction(
+      () -> mySuperBuilderHandler.createBuilderBaseClass(myColdLeafClass, myColdSuperBuilderAnnotation).getMethods());
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.SingleShotTime)
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  @Warmup(iterations = 10)
+  @Measurement(iterations = 30)
+  public PsiMethod[] leafClassMethodsCold() {
+    return inReadAction(() -> myColdLeafClass.getMethods());
+  }
+}
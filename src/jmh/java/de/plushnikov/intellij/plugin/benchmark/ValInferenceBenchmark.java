@@ -0,0 +1,104 @@
+package de.plushnikov.intellij.plugin.benchmark;
+
+import com.intellij.psi.*;
+import com.intellij.psi.util.PsiTreeUtil;
+import de.plushnikov.intellij.plugin.processor.ValProcessor;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures type inference of a chain of {@code val} declarations, where each one depends on the previous,
+ * answered from the caches (warm) and computed for a fresh copy of the code block (cold)
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ValInferenceBenchmark extends AbstractLombokBenchmark {
+
+  @Param({"10", "50", "200"})
+  public int declarationCount;
+
+  private PsiClass myPsiClass;
+  private List<PsiTypeElement> myTypeElements;
+  private PsiCodeBlock myCodeBlock;
+  private List<PsiTypeElement> myColdTypeElements;
+  private PsiCodeBlock myColdCodeBlock;
+
+  @Override
+  protected void setUpTestData() {
+    StringBuilder text = new StringBuilder("""
+                                             import lombok.val;
+                                             import java.util.*;
+                                             public class Foo {
+                                               public void bar() {
+                                                 val v0 = new ArrayList<Map<String, List<Integer>>>();
+                                             """);
+    for (int i = 1; i < declarationCount; i++) {
+      text.append("    val v").append(i).append(" = ").append(i % 2 == 0 ? "new ArrayList<>(v" : "Collections.unmodifiableList(v")
+        .append(i - 1).append(");\n");
+    }
+    text.append("  }\n}\n");
+
+    myPsiClass = addJavaFile("Foo.java", text.toString()).getClasses()[0];
+    myCodeBlock = myPsiClass.getMethods()[0].getBody();
+    myTypeElements = collectTypeElements(myCodeBlock);
+  }
+
+  @Setup(Level.Iteration)
+  public void createColdCopy() {
+    myColdCodeBlock = inReadAction(() -> coldCopyOf(myPsiClass).getMethods()[0].getBody());
+    myColdTypeElements = inReadAction(() -> collectTypeElements(myColdCodeBlock));
+  }
+
+  private static List<PsiTypeElement> collectTypeElements(PsiCodeBlock codeBlock) {
+    final Collection<PsiLocalVariable> localVariables = PsiTreeUtil.findChildrenOfType(codeBlock, PsiLocalVariable.class);
+    final List<PsiTypeElement> result = new ArrayList<>(localVariables.size());
+    for (PsiLocalVariable localVariable : localVariables) {
+      result.add(localVariable.getTypeElement());
+    }
+    return result;
+  }
+
+  @Benchmark
+  public List<PsiType> inferAllTypes() {
+    return inReadAction(() -> {
+      List<PsiType> result = new ArrayList<>(myTypeElements.size());
+      for (PsiTypeElement typeElement : myTypeElements) {
+        result.add(ValProcessor.inferType(typeElement));
+      }
+      return result;
+    });
+  }
+
+  @Benchmark
+  public PsiType inferLastType() {
+    return inReadAction(() -> ValProcessor.inferType(myTypeElements.get(myTypeElements.size() - 1)));
+  }
+
+  @Benchmark
+  public Map<PsiTypeElement, PsiType> inferAllTypesInBatch() {
+    return inReadAction(() -> ValProcessor.inferTypes(myCodeBlock));
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.SingleShotTime)
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  @Warmup(iterations = 10)
+  @Measurement(iterations = 30)
+  public PsiType inferLastTypeCold() {
+    return inReadAction(() -> ValProcessor.inferType(myColdTypeElements.get(myColdTypeElements.size() - 1)));
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.SingleShotTime)
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  @Warmup(iterations = 10)
+  @Measurement(iterations = 30)
+  public Map<PsiTypeElement, PsiType> inferAllTypesInBatchCold() {
+    return inReadAction(() -> ValProcessor.inferTypes(myColdCodeBlock));
+  }
+}
@@ -0,0 +1,89 @@
+package de.plushnikov.intellij.plugin.lombokconfig;
+
+import com.intellij.openapi.application.WriteAction;
+import com.intellij.openapi.vfs.VfsUtil;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.search.FileTypeIndex;
+import com.intellij.testFramework.EdtTestUtil;
+import com.intellij.util.indexing.FileBasedIndex;
+import de.plushnikov.intellij.plugin.benchmark.AbstractLombokBenchmark;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures lookup of lombok.config values for a class placed deep in a directory tree with a config file on every level,
+ * answered from the caches of the {@link LombokConfigResolver} (warm) and as the first lookup after a change
+ * of a config file (cold), which resolves the configs of the whole project again
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ConfigDiscoveryBenchmark extends AbstractLombokBenchmark {
+
+  @Param({"1", "5", "20"})
+  public int directoryDepth;
+
+  private final ConfigDiscovery myConfigDiscovery = new ConfigDiscovery();
+  private PsiClass myPsiClass;
+  private VirtualFile myDeepestConfigFile;
+  private int myConfigChanges;
+
+  @Override
+  protected void setUpTestData() {
+    StringBuilder directory = new StringBuilder();
+    for (int level = 0; level < directoryDepth; level++) {
+      directory.append("level").append(level).append('/');
+      myDeepestConfigFile = myFixture.addFileToProject(directory + "lombok.config", configText(level)).getVirtualFile();
+    }
+    myPsiClass = addJavaFile(directory + "Foo.java", "public class Foo {}").getClasses()[0];
+  }
+
+  private static String configText(int level) {
+    return """
+      lombok.accessors.prefix += p%1$d
+      lombok.log.fieldName = logger%1$d
+      """.formatted(level);
+  }
+
+  @Setup(Level.Iteration)
+  public void changeConfig() throws Throwable {
+    // every change of a config file drops the resolved configs, indexes are updated before the measurement
+    EdtTestUtil.runInEdtAndWait(() -> WriteAction.run(
+      () -> VfsUtil.saveText(myDeepestConfigFile, configText(directoryDepth - 1) + "# change " + myConfigChanges++ + "\n")));
+    inReadAction(() -> {
+      final FileBasedIndex fileBasedIndex = FileBasedIndex.getInstance();
+      fileBasedIndex.ensureUpToDate(FileTypeIndex.NAME, myFixture.getProject(), null);
+      return fileBasedIndex.ensureUpToDate(LombokConfigIndex.NAME, myFixture.getProject(), null);
+    });
+  }
+
+  @Benchmark
+  public String scalarProperty() {
+    return inReadAction(() -> myConfigDiscovery.getStringLombokConfigProperty(ConfigKey.LOG_FIELDNAME, myPsiClass));
+  }
+
+  @Benchmark
+  public Collection<String> collectionProperty() {
+    return inReadAction(() -> myConfigDiscovery.getMultipleValueLombokConfigProperty(ConfigKey.ACCESSORS_PREFIX, myPsiClass));
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.SingleShotTime)
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  @Warmup(iterations = 10)
+  @Measurement(iterations = 30)
+  public String scalarPropertyCold() {
+    return inReadAction(() -> myConfigDiscovery.getStringLombokConfigProperty(ConfigKey.LOG_FIELDNAME, myPsiClass));
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.SingleShotTime)
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  @Warmup(iterations = 10)
+  @Measurement(iterations = 30)
+  public Collection<String> collectionPropertyCold() {
+    return inReadAction(() -> myConfigDiscovery.getMultipleValueLombokConfigProperty(ConfigKey.ACCESSORS_PREFIX, myPsiClass));
+  }
+}
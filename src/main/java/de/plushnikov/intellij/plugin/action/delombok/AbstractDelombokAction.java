@@ -5,21 +5,23 @@ import com.intellij.openapi.actionSystem.*;
 import com.intellij.openapi.application.ApplicationManager;
 import com.intellij.openapi.command.CommandProcessor;
 import com.intellij.openapi.editor.Editor;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.progress.Task;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.util.NlsContexts;
-import com.intellij.openapi.vfs.VfsUtilCore;
 import com.intellij.openapi.vfs.VirtualFile;
-import com.intellij.openapi.vfs.VirtualFileVisitor;
 import com.intellij.psi.*;
 import com.intellij.psi.util.PsiTreeUtil;
 import com.intellij.psi.util.PsiUtilBase;
 import com.intellij.util.containers.ContainerUtil;
+import de.plushnikov.intellij.plugin.LombokBundle;
 import de.plushnikov.intellij.plugin.util.LombokLibraryUtil;
-import de.plushnikov.intellij.plugin.util.PsiClassUtil;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.Collection;
+import java.util.List;
 
 public abstract class AbstractDelombokAction extends AnAction {
   private DelombokHandler myHandler;
@@ -66,43 +68,21 @@ public abstract class AbstractDelombokAction extends AnAction {
     } else {
       final VirtualFile[] files = CommonDataKeys.VIRTUAL_FILE_ARRAY.getData(dataContext);
       if (null != files) {
-        for (VirtualFile file : files) {
-          if (file.isDirectory()) {
-            processDirectory(project, file);
-          } else {
-            processFile(project, file);
-          }
-        }
+        process(project, List.of(files));
       }
     }
   }
 
-  private void processDirectory(@NotNull final Project project, @NotNull VirtualFile vFile) {
-    VfsUtilCore.visitChildrenRecursively(vFile, new VirtualFileVisitor<Void>() {
+  protected void process(@NotNull final Project project, @NotNull final Collection<VirtualFile> files) {
+    final DelombokBatchProcessor batchProcessor = new DelombokBatchProcessor(project, getHandler(), getCommandName());
+    ProgressManager.getInstance().run(new Task.Backgroundable(project, LombokBundle.message("delombok.progress.title"), true) {
       @Override
-      public boolean visitFile(@NotNull VirtualFile file) {
-        if (!file.isDirectory()) {
-          processFile(project, file);
-        }
-        return true;
+      public void run(@NotNull ProgressIndicator indicator) {
+        batchProcessor.process(files, indicator);
       }
     });
   }
 
-  private void processFile(Project project, VirtualFile file) {
-    if (JavaFileType.INSTANCE.equals(file.getFileType())) {
-      final PsiManager psiManager = PsiManager.getInstance(project);
-      PsiJavaFile psiFile = (PsiJavaFile) psiManager.findFile(file);
-      if (psiFile != null) {
-        process(project, psiFile);
-      }
-    }
-  }
-
-  protected void process(@NotNull final Project project, @NotNull final PsiJavaFile psiJavaFile) {
-    executeCommand(project, () -> getHandler().invoke(project, psiJavaFile));
-  }
-
   protected void process(@NotNull final Project project, @NotNull final PsiFile psiFile, @NotNull final PsiClass psiClass) {
     executeCommand(project, () -> getHandler().invoke(project, psiFile, psiClass));
   }
@@ -155,15 +135,7 @@ public abstract class AbstractDelombokAction extends AnAction {
   }
 
   private boolean isValidForClass(@NotNull PsiClass psiClass) {
-    if (psiClass.isInterface()) {
-      return false;
-    }
-    Collection<PsiAnnotation> psiAnnotations = getHandler().collectProcessableAnnotations(psiClass);
-    if (!psiAnnotations.isEmpty()) {
-      return true;
-    }
-    final Collection<PsiClass> classesIntern = PsiClassUtil.collectInnerClassesIntern(psiClass);
-    return ContainerUtil.exists(classesIntern, this::isValidForClass);
+    return getHandler().isProcessable(psiClass);
   }
 
   @Nullable
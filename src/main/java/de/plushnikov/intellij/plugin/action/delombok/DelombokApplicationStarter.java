@@ -0,0 +1,260 @@
+package de.plushnikov.intellij.plugin.action.delombok;
+
+import com.intellij.ide.CommandLineInspectionProgressReporter;
+import com.intellij.ide.CommandLineInspectionProjectConfigurator;
+import com.intellij.ide.CommandLineInspectionProjectConfigurator.ConfiguratorContext;
+import com.intellij.ide.highlighter.JavaFileType;
+import com.intellij.ide.impl.ProjectUtil;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.application.ApplicationStarter;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.application.WriteAction;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.editor.Document;
+import com.intellij.openapi.fileEditor.FileDocumentManager;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.progress.util.ProgressIndicatorBase;
+import com.intellij.openapi.project.DumbService;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.project.ProjectManager;
+import com.intellij.openapi.util.io.FileUtil;
+import com.intellij.openapi.vfs.LocalFileSystem;
+import com.intellij.openapi.vfs.VfsUtilCore;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.openapi.vfs.VirtualFileVisitor;
+import com.intellij.util.containers.ContainerUtil;
+import de.plushnikov.intellij.plugin.LombokBundle;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.FileVisitOption;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Headless delombok of a source tree with the same {@link DelombokHandler} as used by the "Delombok" actions of the IDE.
+ * <p>
+ * Usage: {@code idea delombok <project-dir> <source-dir> <output-dir>}
+ * <p>
+ * The project is opened and imported to resolve the sources against its libraries, the source tree is delomboked
+ * in memory by the {@link DelombokBatchProcessor} and the complete tree is written to the output directory.
+ * The changed documents are always discarded, so the sources of the project itself stay unchanged.
+ */
+public final class DelombokApplicationStarter implements ApplicationStarter {
+  private static final Logger LOG = Logger.getInstance(DelombokApplicationStarter.class);
+
+  @Override
+  public int getRequiredModality() {
+    // project import, waiting for smart mode and the batch processor itself must not run on the EDT
+    return NOT_IN_EDT;
+  }
+
+  @Override
+  public void main(@NotNull List<String> args) {
+    // the first argument is the command name itself
+    if (args.size() != 4) {
+      System.err.println("Usage: delombok <project-dir> <source-dir> <output-dir>");
+      System.exit(1);
+    }
+
+    final Path projectPath = Path.of(args.get(1)).toAbsolutePath().normalize();
+    final Path sourcePath = Path.of(args.get(2)).toAbsolutePath().normalize();
+    final Path outputPath = Path.of(args.get(3)).toAbsolutePath().normalize();
+
+    int exitCode = 0;
+    try {
+      delombok(projectPath, sourcePath, outputPath);
+    }
+    catch (Exception e) {
+      LOG.error(e);
+      System.err.println("Delombok failed: " + e.getMessage());
+      exitCode = 1;
+    }
+    System.exit(exitCode);
+  }
+
+  private static void delombok(@NotNull Path projectPath, @NotNull Path sourcePath, @NotNull Path outputPath) throws IOException {
+    final VirtualFile sourceDirectory = LocalFileSystem.getInstance().refreshAndFindFileByNioFile(sourcePath);
+    if (null == sourceDirectory || !sourceDirectory.isDirectory()) {
+      throw new IOException("Source directory not found: " + sourcePath);
+    }
+
+    if (outputPath.startsWith(sourcePath) || outputPath.startsWith(sourcePath.toRealPath())) {
+      throw new IOException("Output directory must not be inside of the source directory: " + outputPath);
+    }
+
+    final ProgressIndicator indicator = new ProgressIndicatorBase();
+    final ConfiguratorContext context = new HeadlessConfiguratorContext(projectPath, indicator);
+    final List<CommandLineInspectionProjectConfigurator> configurators =
+      ContainerUtil.filter(CommandLineInspectionProjectConfigurator.EP_NAME.getExtensionList(), c -> c.isApplicable(context));
+    configurators.forEach(configurator -> configurator.configureEnvironment(context));
+
+    final Project project = ProjectUtil.openOrImport(projectPath, null, false);
+    if (null == project) {
+      throw new IOException("Unable to open project: " + projectPath);
+    }
+
+    try {
+      // the sources can only be resolved after the build system import and the indexing are finished
+      configurators.forEach(configurator -> configurator.configureProject(project, context));
+      DumbService.getInstance(project).waitForSmartMode();
+
+      final Map<String, String> delombokedTexts =
+        ProgressManager.getInstance().runProcess(() -> delombokInMemory(project, sourceDirectory, indicator), indicator);
+      writeOutput(sourcePath, outputPath, delombokedTexts);
+      System.out.println("Delomboked " + delombokedTexts.size() + " files into " + outputPath);
+    }
+    finally {
+      ApplicationManager.getApplication().invokeAndWait(() -> ProjectManager.getInstance().closeAndDispose(project));
+    }
+  }
+
+  /**
+   * Delomboks all java files of the source directory without saving them. Read-only files (e.g. of a CI checkout)
+   * are made writable for the time of the processing only.
+   *
+   * @return texts of the delomboked files by their path relative to the source directory
+   */
+  @NotNull
+  static Map<String, String> delombokInMemory(@NotNull Project project, @NotNull VirtualFile sourceDirectory,
+                                              @NotNull ProgressIndicator indicator) {
+    final List<VirtualFile> readOnlyFiles = findReadOnlyJavaFiles(sourceDirectory);
+    try {
+      setWritable(readOnlyFiles, true);
+
+      final DelombokHandler handler = new DelombokEverythingAction().createHandler();
+      final DelombokBatchProcessor batchProcessor =
+        new DelombokBatchProcessor(project, handler, LombokBundle.message("delombok.progress.title"));
+      return getDocumentTexts(sourceDirectory, batchProcessor.process(List.of(sourceDirectory), indicator));
+    }
+    finally {
+      // closing of the project saves all documents, the sources of the project have to stay untouched even after a failure
+      discardDocumentChanges(sourceDirectory);
+      setWritable(readOnlyFiles, false);
+    }
+  }
+
+  @NotNull
+  private static List<VirtualFile> findReadOnlyJavaFiles(@NotNull VirtualFile sourceDirectory) {
+    return ReadAction.compute(() -> {
+      final List<VirtualFile> result = new ArrayList<>();
+      VfsUtilCore.visitChildrenRecursively(sourceDirectory, new VirtualFileVisitor<Void>() {
+        @Override
+        public boolean visitFile(@NotNull VirtualFile file) {
+          if (!file.isDirectory() && !file.isWritable() && JavaFileType.INSTANCE.equals(file.getFileType())) {
+            result.add(file);
+          }
+          return true;
+        }
+      });
+      return result;
+    });
+  }
+
+  private static void setWritable(@NotNull List<VirtualFile> files, boolean writable) {
+    if (files.isEmpty()) {
+      return;
+    }
+    try {
+      WriteAction.runAndWait(() -> {
+        for (VirtualFile file : files) {
+          if (file.isValid()) {
+            file.setWritable(writable);
+          }
+        }
+      });
+    }
+    catch (IOException e) {
+      throw new UncheckedIOException("Unable to change the read-only state of the source files", e);
+    }
+  }
+
+  @NotNull
+  private static Map<String, String> getDocumentTexts(@NotNull VirtualFile sourceDirectory, @NotNull List<VirtualFile> files) {
+    return ReadAction.compute(() -> {
+      final FileDocumentManager fileDocumentManager = FileDocumentManager.getInstance();
+      final Map<String, String> result = new HashMap<>();
+      for (VirtualFile file : files) {
+        final Document document = fileDocumentManager.getDocument(file);
+        final String relativePath = VfsUtilCore.getRelativePath(file, sourceDirectory);
+        if (null != document && null != relativePath) {
+          result.put(relativePath, document.getText());
+        }
+      }
+      return result;
+    });
+  }
+
+  private static void discardDocumentChanges(@NotNull VirtualFile sourceDirectory) {
+    ApplicationManager.getApplication().invokeAndWait(() -> {
+      final FileDocumentManager fileDocumentManager = FileDocumentManager.getInstance();
+      for (Document document : fileDocumentManager.getUnsavedDocuments()) {
+        final VirtualFile file = fileDocumentManager.getFile(document);
+        if (null != file && VfsUtilCore.isAncestor(sourceDirectory, file, false)) {
+          fileDocumentManager.reloadFromDisk(document);
+        }
+      }
+    });
+  }
+
+  private record HeadlessConfiguratorContext(@NotNull Path projectPath, @NotNull ProgressIndicator indicator)
+    implements ConfiguratorContext {
+
+    @Override
+    public @NotNull ProgressIndicator getProgressIndicator() {
+      return indicator;
+    }
+
+    @Override
+    public @NotNull CommandLineInspectionProgressReporter getLogger() {
+      return new CommandLineInspectionProgressReporter() {
+        @Override
+        public void reportError(@Nullable String message) {
+          System.err.println(message);
+        }
+
+        @Override
+        public void reportMessage(int minVerboseLevel, @Nullable String message) {
+          LOG.info(message);
+        }
+      };
+    }
+
+    @Override
+    public @NotNull Path getProjectPath() {
+      return projectPath;
+    }
+  }
+
+  /**
+   * Copies the source tree into the output directory, with the delomboked texts instead of the original files.
+   * Symbolic links are followed the same way as by the virtual file system, so the relative paths match.
+   */
+  static void writeOutput(@NotNull Path sourcePath, @NotNull Path outputPath,
+                          @NotNull Map<String, String> delombokedTexts) throws IOException {
+    try (Stream<Path> paths = Files.walk(sourcePath, FileVisitOption.FOLLOW_LINKS)) {
+      for (Path path : (Iterable<Path>)paths.filter(Files::isRegularFile)::iterator) {
+        final Path relativePath = sourcePath.relativize(path);
+        final Path target = outputPath.resolve(relativePath);
+        Files.createDirectories(target.getParent());
+
+        final String delombokedText = delombokedTexts.get(FileUtil.toSystemIndependentName(relativePath.toString()));
+        if (null != delombokedText) {
+          Files.writeString(target, delombokedText);
+        }
+        else {
+          Files.copy(path, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+      }
+    }
+  }
+}
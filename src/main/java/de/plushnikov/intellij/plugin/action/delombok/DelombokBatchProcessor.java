@@ -0,0 +1,168 @@
+package de.plushnikov.intellij.plugin.action.delombok;
+
+import com.intellij.concurrency.JobLauncher;
+import com.intellij.ide.highlighter.JavaFileType;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.application.WriteAction;
+import com.intellij.openapi.command.CommandProcessor;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.project.DumbService;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.NlsContexts;
+import com.intellij.openapi.util.Ref;
+import com.intellij.openapi.vfs.VfsUtilCore;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.openapi.vfs.VirtualFileVisitor;
+import com.intellij.psi.PsiCompiledElement;
+import com.intellij.psi.PsiDocumentManager;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiJavaFile;
+import com.intellij.psi.PsiManager;
+import com.intellij.util.containers.ContainerUtil;
+import de.plushnikov.intellij.plugin.LombokBundle;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Delomboks many files (selected files or whole directories) with the help of a {@link DelombokHandler}.
+ * <p>
+ * Files containing processable lombok annotations are searched concurrently in read actions.
+ * Generated members are written file by file in short write commands, the EDT is released as soon as a command
+ * takes longer than {@link #MAX_WRITE_ACTION_MILLIS}, so the IDE stays responsive even for thousands of files.
+ * The expensive reformatting and optimizing of imports is done the same way for all changed files in a final pass.
+ */
+public final class DelombokBatchProcessor {
+  private static final long MAX_WRITE_ACTION_MILLIS = 100;
+
+  private final Project myProject;
+  private final DelombokHandler myHandler;
+  private final @NlsContexts.Command String myCommandName;
+
+  public DelombokBatchProcessor(@NotNull Project project, @NotNull DelombokHandler handler,
+                                @NotNull @NlsContexts.Command String commandName) {
+    myProject = project;
+    myHandler = handler;
+    myCommandName = commandName;
+  }
+
+  /**
+   * Delomboks all java files of the given files and directories
+   *
+   * @return java files which were changed
+   */
+  @NotNull
+  public List<VirtualFile> process(@NotNull Collection<VirtualFile> roots, @NotNull ProgressIndicator indicator) {
+    indicator.setIndeterminate(false);
+    indicator.setText(LombokBundle.message("delombok.progress.searching"));
+    final List<VirtualFile> files = findProcessableFiles(collectJavaFiles(roots), indicator);
+
+    // all commands of one run are merged into one undoable action
+    final Object commandGroupId = new Object();
+    indicator.setText(LombokBundle.message("delombok.progress.processing"));
+    processInWriteActions(files, indicator, commandGroupId,
+                          psiJavaFile -> myHandler.invokeWithoutReformat(myProject, psiJavaFile));
+
+    indicator.setText(LombokBundle.message("delombok.progress.reformatting"));
+    processInWriteActions(files, indicator, commandGroupId,
+                          psiJavaFile -> DelombokHandler.reformatAndFinish(myProject, psiJavaFile));
+
+    return files;
+  }
+
+  @NotNull
+  private static List<VirtualFile> collectJavaFiles(@NotNull Collection<VirtualFile> roots) {
+    final Set<VirtualFile> result = new LinkedHashSet<>();
+    for (VirtualFile root : roots) {
+      VfsUtilCore.visitChildrenRecursively(root, new VirtualFileVisitor<Void>() {
+        @Override
+        public boolean visitFile(@NotNull VirtualFile file) {
+          if (!file.isDirectory() && JavaFileType.INSTANCE.equals(file.getFileType())) {
+            result.add(file);
+          }
+          return true;
+        }
+      });
+    }
+    return new ArrayList<>(result);
+  }
+
+  @NotNull
+  private List<VirtualFile> findProcessableFiles(@NotNull List<VirtualFile> javaFiles, @NotNull ProgressIndicator indicator) {
+    final Set<VirtualFile> processableFiles = ContainerUtil.newConcurrentSet();
+    final DumbService dumbService = DumbService.getInstance(myProject);
+    JobLauncher.getInstance().invokeConcurrentlyUnderProgress(javaFiles, indicator, file -> {
+      if (dumbService.runReadActionInSmartMode(() -> isProcessable(file))) {
+        processableFiles.add(file);
+      }
+      return true;
+    });
+    // keep the order of the files stable, independent of the scheduling of the workers
+    return ContainerUtil.filter(javaFiles, processableFiles::contains);
+  }
+
+  private boolean isProcessable(@NotNull VirtualFile file) {
+    final PsiJavaFile psiJavaFile = findJavaFile(file);
+    return null != psiJavaFile && psiJavaFile.isWritable() && ContainerUtil.exists(psiJavaFile.getClasses(), myHandler::isProcessable);
+  }
+
+  private void processInWriteActions(@NotNull List<VirtualFile> files, @NotNull ProgressIndicator indicator,
+                                     @NotNull Object commandGroupId, @NotNull Consumer<PsiJavaFile> action) {
+    int next = 0;
+    while (next < files.size()) {
+      indicator.checkCanceled();
+      indicator.setFraction((double)next / files.size());
+
+      indicator.setText2(files.get(next).getPresentableUrl());
+
+      final int start = next;
+      final Ref<Integer> end = Ref.create(start);
+      ApplicationManager.getApplication().invokeAndWait(
+        () -> CommandProcessor.getInstance().executeCommand(myProject, () -> WriteAction.run(() -> {
+          end.set(processUntilTimeout(files, start, action));
+          PsiDocumentManager.getInstance(myProject).commitAllDocuments();
+        }), myCommandName, commandGroupId));
+      next = end.get();
+    }
+    indicator.setFraction(1.0);
+    indicator.setText2("");
+  }
+
+  /**
+   * Processes files beginning with the given one, until all files are processed or the time for one write action is over
+   *
+   * @return index of the first file, which was not processed
+   */
+  private int processUntilTimeout(@NotNull List<VirtualFile> files, int start, @NotNull Consumer<PsiJavaFile> action) {
+    final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(MAX_WRITE_ACTION_MILLIS);
+    int index = start;
+    do {
+      final PsiJavaFile psiJavaFile = findJavaFile(files.get(index));
+      if (null != psiJavaFile) {
+        action.accept(psiJavaFile);
+      }
+      index++;
+    }
+    while (index < files.size() && System.nanoTime() < deadline);
+    return index;
+  }
+
+  @Nullable
+  private PsiJavaFile findJavaFile(@NotNull VirtualFile file) {
+    if (!file.isValid()) {
+      return null;
+    }
+    final PsiFile psiFile = PsiManager.getInstance(myProject).findFile(file);
+    if (psiFile instanceof PsiJavaFile psiJavaFile && !(psiFile instanceof PsiCompiledElement)) {
+      return psiJavaFile;
+    }
+    return null;
+  }
+}
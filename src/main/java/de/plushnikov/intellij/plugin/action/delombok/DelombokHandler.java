@@ -8,6 +8,7 @@ import com.intellij.psi.*;
 import com.intellij.psi.codeStyle.CodeStyleManager;
 import com.intellij.psi.codeStyle.JavaCodeStyleManager;
 import com.intellij.psi.impl.source.PsiClassReferenceType;
+import com.intellij.util.containers.ContainerUtil;
 import de.plushnikov.intellij.plugin.processor.AbstractProcessor;
 import de.plushnikov.intellij.plugin.processor.LombokProcessorManager;
 import de.plushnikov.intellij.plugin.processor.clazz.fieldnameconstants.FieldNameConstantsPredefinedInnerClassFieldProcessor;
@@ -35,19 +36,40 @@ public class DelombokHandler {
 
   public void invoke(@NotNull Project project, @NotNull PsiFile psiFile, @NotNull PsiClass psiClass) {
     if (psiFile.isWritable()) {
-      invoke(project, psiClass, processInnerClasses);
+      invoke(project, psiClass, processInnerClasses, true);
       finish(project, psiFile);
     }
   }
 
   public void invoke(@NotNull Project project, @NotNull PsiJavaFile psiFile) {
     for (PsiClass psiClass : psiFile.getClasses()) {
-      invoke(project, psiClass, true);
+      invoke(project, psiClass, true, true);
     }
     finish(project, psiFile);
   }
 
-  private void invoke(Project project, PsiClass psiClass, boolean processInnerClasses) {
+  /**
+   * Delomboks all classes of the file without reformatting and optimizing of imports,
+   * {@link #reformatAndFinish(Project, PsiJavaFile)} has to be called for the file afterward
+   */
+  public void invokeWithoutReformat(@NotNull Project project, @NotNull PsiJavaFile psiFile) {
+    for (PsiClass psiClass : psiFile.getClasses()) {
+      invoke(project, psiClass, true, false);
+    }
+  }
+
+  /**
+   * Reformats all classes of the file delomboked by {@link #invokeWithoutReformat(Project, PsiJavaFile)} and optimizes its imports
+   */
+  public static void reformatAndFinish(@NotNull Project project, @NotNull PsiJavaFile psiFile) {
+    final CodeStyleManager codeStyleManager = CodeStyleManager.getInstance(project);
+    for (PsiClass psiClass : psiFile.getClasses()) {
+      codeStyleManager.reformat(psiClass);
+    }
+    finish(project, psiFile);
+  }
+
+  private void invoke(Project project, PsiClass psiClass, boolean processInnerClasses, boolean reformat) {
     Collection<PsiAnnotation> processedAnnotations = new HashSet<>();
 
     processModifierList(psiClass);
@@ -61,13 +83,15 @@ public class DelombokHandler {
 
     postProcessAugmentedAnnotations(psiClass);
 
-    CodeStyleManager.getInstance(project).reformat(psiClass);
+    if (reformat) {
+      CodeStyleManager.getInstance(project).reformat(psiClass);
+    }
 
     if (processInnerClasses) {
       for (PsiClass innerClass : allInnerClasses) {
         //skip our self generated classes
         if (!(innerClass instanceof LombokLightClassBuilder)) {
-          invoke(project, innerClass, true);
+          invoke(project, innerClass, true, reformat);
         }
       }
     }
@@ -164,6 +188,20 @@ public class DelombokHandler {
     return result;
   }
 
+  /**
+   * Checks if the class or any of its inner classes contains annotations processed by this handler
+   */
+  public boolean isProcessable(@NotNull PsiClass psiClass) {
+    if (psiClass.isInterface()) {
+      return false;
+    }
+    if (!collectProcessableAnnotations(psiClass).isEmpty()) {
+      return true;
+    }
+    final Collection<PsiClass> classesIntern = PsiClassUtil.collectInnerClassesIntern(psiClass);
+    return ContainerUtil.exists(classesIntern, this::isProcessable);
+  }
+
   private static PsiElement rebuildPsiElement(@NotNull Project project, PsiElement psiElement) {
     if (psiElement instanceof PsiMethod) {
       return rebuildMethod(project, (PsiMethod)psiElement);
@@ -3,7 +3,6 @@ package de.plushnikov.intellij.plugin.extension;
 import com.intellij.codeInsight.daemon.impl.HighlightInfo;
 import com.intellij.codeInsight.daemon.impl.HighlightInfoFilter;
 import com.intellij.lang.annotation.HighlightSeverity;
-import com.intellij.openapi.project.Project;
 import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiFile;
 import de.plushnikov.intellij.plugin.handler.OnXAnnotationHandler;
@@ -22,8 +21,7 @@ public class LombokHighlightErrorFilter implements HighlightInfoFilter {
       return true;
     }
 
-    Project project = file.getProject();
-    if (!LombokLibraryUtil.hasLombokLibrary(project)) {
+    if (!LombokLibraryUtil.hasLombokLibrary(file)) {
       return true;
     }
 
@@ -1,16 +1,22 @@
 package de.plushnikov.intellij.plugin.lombokconfig;
 
-public class ConfigValue {
-  private final String value;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Values of all keys declared in one lombok.config file
+ */
+public class ConfigValues {
+  private final Map<ConfigKey, String> values;
   private final boolean stopBubbling;
 
-  public ConfigValue(String value, boolean stopBubbling) {
-    this.value = value;
+  public ConfigValues(Map<ConfigKey, String> values, boolean stopBubbling) {
+    this.values = Collections.unmodifiableMap(values);
     this.stopBubbling = stopBubbling;
   }
 
-  public String getValue() {
-    return value;
+  public Map<ConfigKey, String> getValues() {
+    return values;
   }
 
   public boolean isStopBubbling() {
@@ -22,22 +28,21 @@ public class ConfigValue {
     if (this == o) return true;
     if (o == null || getClass() != o.getClass()) return false;
 
-    ConfigValue that = (ConfigValue) o;
+    ConfigValues that = (ConfigValues) o;
 
     if (stopBubbling != that.stopBubbling) return false;
-    return value != null ? value.equals(that.value) : that.value == null;
-
+    return values.equals(that.values);
   }
 
   @Override
   public int hashCode() {
-    int result = value != null ? value.hashCode() : 0;
+    int result = values.hashCode();
     result = 31 * result + (stopBubbling ? 1 : 0);
     return result;
   }
 
   @Override
   public String toString() {
-    return "ConfigValue {" + value + ", " + stopBubbling + "}";
+    return "ConfigValues {" + values + ", " + stopBubbling + "}";
   }
 }
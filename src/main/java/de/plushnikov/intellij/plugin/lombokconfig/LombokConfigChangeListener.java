@@ -2,36 +2,176 @@ package de.plushnikov.intellij.plugin.lombokconfig;
 
 import com.intellij.openapi.fileTypes.FileType;
 import com.intellij.openapi.fileTypes.FileTypeRegistry;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.project.ProjectManagerListener;
 import com.intellij.openapi.util.ModificationTracker;
 import com.intellij.openapi.util.text.Strings;
+import com.intellij.openapi.vfs.VfsUtilCore;
 import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.openapi.vfs.newvfs.BulkFileListener;
-import com.intellij.openapi.vfs.newvfs.events.VFileEvent;
+import com.intellij.openapi.vfs.newvfs.events.*;
+import com.intellij.util.PathUtil;
+import com.intellij.util.containers.ContainerUtil;
 import de.plushnikov.intellij.plugin.language.LombokConfigFileType;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
-import java.util.List;
+import java.util.*;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
 
-public class LombokConfigChangeListener implements BulkFileListener {
+/**
+ * Counts changes of lombok.config files per directory, so cached values of a file depend only on the config files
+ * which can affect this file. Counters of deleted directories and of all directories after a project was closed
+ * are pruned, their changes are moved to a counter of all directories, so every tracker only ever grows.
+ */
+public class LombokConfigChangeListener implements BulkFileListener, ProjectManagerListener {
   private static final AtomicLong CONFIG_CHANGE_COUNTER = new AtomicLong(1);
+  /**
+   * Changes of any lombok.config file
+   */
   public static final ModificationTracker CONFIG_CHANGE_TRACKER = CONFIG_CHANGE_COUNTER::get;
 
+  private static final Object LOCK = new Object();
+  /**
+   * Changes of config files, which directory could not be determined and pruned directory changes, they affect all directories
+   */
+  private static long ourUnscopedChanges = 1;
+  private static final Map<VirtualFile, Long> DIRECTORY_CHANGES = new HashMap<>();
+
+  /**
+   * Returns tracker of changes of lombok.config files, which can affect the given file: config files in the directory
+   * of the file or in any of its parent directories
+   */
+  @NotNull
+  public static ModificationTracker getConfigChangeTracker(@Nullable VirtualFile file) {
+    if (null == file) {
+      return CONFIG_CHANGE_TRACKER;
+    }
+    return new DirectoryConfigChangeTracker(file);
+  }
+
+  /**
+   * Parent chain of the file is only checked again after a change of any config file
+   */
+  private static final class DirectoryConfigChangeTracker implements ModificationTracker {
+    private record CheckedCount(long configChanges, long count) {
+    }
+
+    private final VirtualFile myFile;
+    private volatile CheckedCount myCheckedCount = new CheckedCount(-1, -1);
+
+    private DirectoryConfigChangeTracker(@NotNull VirtualFile file) {
+      myFile = file;
+    }
+
+    @Override
+    public long getModificationCount() {
+      final CheckedCount checkedCount = myCheckedCount;
+      // global counter is always incremented after the directory counters, so no change can be missed
+      final long configChanges = CONFIG_CHANGE_COUNTER.get();
+      if (checkedCount.configChanges() == configChanges) {
+        return checkedCount.count();
+      }
+      final long count = countChanges(myFile);
+      myCheckedCount = new CheckedCount(configChanges, count);
+      return count;
+    }
+  }
+
+  private static long countChanges(@NotNull VirtualFile file) {
+    synchronized (LOCK) {
+      long result = ourUnscopedChanges;
+      if (!DIRECTORY_CHANGES.isEmpty()) {
+        for (VirtualFile currentFile = file; null != currentFile; currentFile = currentFile.getParent()) {
+          result += DIRECTORY_CHANGES.getOrDefault(currentFile, 0L);
+        }
+      }
+      return result;
+    }
+  }
+
   @Override
   public void before(@NotNull List<? extends @NotNull VFileEvent> events) {
     for (VFileEvent event : events) {
-      VirtualFile eventFile = event.getFile();
-      if (null != eventFile) {
-        final CharSequence nameSequence = eventFile.getNameSequence();
-        if (Strings.endsWith(nameSequence, "lombok.config")) {
-          final FileType fileType = FileTypeRegistry.getInstance().getFileTypeByFileName(nameSequence);
-
-          if (LombokConfigFileType.INSTANCE.equals(fileType)) {
-            CONFIG_CHANGE_COUNTER.incrementAndGet();
-            break;
+      if (event instanceof VFileDeleteEvent deleteEvent && deleteEvent.getFile().isDirectory()) {
+        final VirtualFile deletedDirectory = deleteEvent.getFile();
+        pruneDirectories(directory -> VfsUtilCore.isAncestor(deletedDirectory, directory, false));
+      }
+
+      if (isConfigFileEvent(event)) {
+        final List<VirtualFile> directories = getAffectedDirectories(event);
+        synchronized (LOCK) {
+          if (directories.isEmpty()) {
+            ourUnscopedChanges++;
+          }
+          for (VirtualFile directory : directories) {
+            DIRECTORY_CHANGES.merge(directory, 1L, Long::sum);
           }
         }
+        CONFIG_CHANGE_COUNTER.incrementAndGet();
+      }
+    }
+  }
+
+  @Override
+  public void projectClosed(@NotNull Project project) {
+    // directories are not bound to a project, so all of them are pruned, the remaining projects recompute their caches once
+    pruneDirectories(directory -> true);
+  }
+
+  private static void pruneDirectories(@NotNull Predicate<? super VirtualFile> condition) {
+    synchronized (LOCK) {
+      long prunedChanges = 0;
+      for (Iterator<Map.Entry<VirtualFile, Long>> iterator = DIRECTORY_CHANGES.entrySet().iterator(); iterator.hasNext(); ) {
+        final Map.Entry<VirtualFile, Long> entry = iterator.next();
+        if (condition.test(entry.getKey())) {
+          prunedChanges += entry.getValue();
+          iterator.remove();
+        }
+      }
+      if (0 == prunedChanges) {
+        return;
+      }
+      // more than pruned, so no tracker returns an older count again
+      ourUnscopedChanges += prunedChanges + 1;
+    }
+    CONFIG_CHANGE_COUNTER.incrementAndGet();
+  }
+
+  private static boolean isConfigFileEvent(@NotNull VFileEvent event) {
+    // use path of the event, file is not available yet for created files
+    if (isConfigFileName(PathUtil.getFileName(event.getPath()))) {
+      return true;
+    }
+    return event instanceof VFilePropertyChangeEvent propertyChangeEvent && propertyChangeEvent.isRename() &&
+           propertyChangeEvent.getNewValue() instanceof String newName && isConfigFileName(newName);
+  }
+
+  private static boolean isConfigFileName(@NotNull String fileName) {
+    if (Strings.endsWith(fileName, "lombok.config")) {
+      final FileType fileType = FileTypeRegistry.getInstance().getFileTypeByFileName(fileName);
+      return LombokConfigFileType.INSTANCE.equals(fileType);
+    }
+    return false;
+  }
+
+  @NotNull
+  private static List<VirtualFile> getAffectedDirectories(@NotNull VFileEvent event) {
+    final List<VirtualFile> result = new ArrayList<>(2);
+    if (event instanceof VFileCreateEvent createEvent) {
+      result.add(createEvent.getParent());
+    }
+    else if (event instanceof VFileCopyEvent copyEvent) {
+      result.add(copyEvent.getNewParent());
+    }
+    else {
+      final VirtualFile eventFile = event.getFile();
+      ContainerUtil.addIfNotNull(result, null == eventFile ? null : eventFile.getParent());
+      if (event instanceof VFileMoveEvent moveEvent) {
+        result.add(moveEvent.getNewParent());
       }
     }
+    return result;
   }
 }
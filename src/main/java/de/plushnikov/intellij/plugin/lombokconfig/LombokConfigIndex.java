@@ -1,13 +1,11 @@
 package de.plushnikov.intellij.plugin.lombokconfig;
 
-import com.intellij.openapi.util.Pair;
 import com.intellij.openapi.util.text.StringUtil;
 import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.util.PathUtil;
-import com.intellij.util.containers.ContainerUtil;
 import com.intellij.util.indexing.*;
 import com.intellij.util.io.DataExternalizer;
-import com.intellij.util.io.EnumDataDescriptor;
+import com.intellij.util.io.DataInputOutputUtil;
 import com.intellij.util.io.EnumeratorStringDescriptor;
 import com.intellij.util.io.KeyDescriptor;
 import de.plushnikov.intellij.plugin.language.LombokConfigFileType;
@@ -21,27 +19,32 @@ import java.io.DataInput;
 import java.io.DataOutput;
 import java.io.IOException;
 import java.util.Collections;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.Map;
 
-public class LombokConfigIndex extends FileBasedIndexExtension<ConfigKey, ConfigValue> {
+/**
+ * Indexes every lombok.config file as a single record keyed by path of its directory,
+ * containing only the keys declared in the file and its stop bubbling flag
+ */
+public class LombokConfigIndex extends FileBasedIndexExtension<String, ConfigValues> {
   @NonNls
-  public static final ID<ConfigKey, ConfigValue> NAME = ID.create("LombokConfigIndex");
+  public static final ID<String, ConfigValues> NAME = ID.create("LombokConfigIndex");
 
   @NotNull
   @Override
-  public ID<ConfigKey, ConfigValue> getName() {
+  public ID<String, ConfigValues> getName() {
     return NAME;
   }
 
   @NotNull
   @Override
-  public DataIndexer<ConfigKey, ConfigValue, FileContent> getIndexer() {
+  public DataIndexer<String, ConfigValues, FileContent> getIndexer() {
     return new DataIndexer<>() {
       @NotNull
       @Override
-      public Map<ConfigKey, ConfigValue> map(@NotNull FileContent inputData) {
-        Map<ConfigKey, ConfigValue> result = Collections.emptyMap();
+      public Map<String, ConfigValues> map(@NotNull FileContent inputData) {
+        Map<String, ConfigValues> result = Collections.emptyMap();
 
         final VirtualFile directoryFile = inputData.getFile().getParent();
         if (null != directoryFile) {
@@ -49,10 +52,16 @@ public class LombokConfigIndex extends FileBasedIndexExtension<ConfigKey, Config
           if (null != canonicalPath) {
             final Map<String, String> configValues = extractValues((LombokConfigFile)inputData.getPsiFile());
 
-            final boolean stopBubblingValue = Boolean.parseBoolean(configValues.get(StringUtil.toLowerCase(ConfigKey.CONFIG_STOP_BUBBLING.getConfigKey())));
-            result = ContainerUtil.map2Map(ConfigKey.values(),
-                                           key -> Pair.create(key,
-                                                              new ConfigValue(configValues.get(StringUtil.toLowerCase(key.getConfigKey())), stopBubblingValue)));
+            final Map<ConfigKey, String> declaredValues = new EnumMap<>(ConfigKey.class);
+            for (Map.Entry<String, String> entry : configValues.entrySet()) {
+              final ConfigKey configKey = ConfigKey.fromConfigStringKey(entry.getKey());
+              if (null != configKey && null != entry.getValue()) {
+                declaredValues.put(configKey, entry.getValue());
+              }
+            }
+
+            final boolean stopBubblingValue = Boolean.parseBoolean(declaredValues.get(ConfigKey.CONFIG_STOP_BUBBLING));
+            result = Collections.singletonMap(canonicalPath, new ConfigValues(declaredValues, stopBubblingValue));
           }
         }
         return result;
@@ -93,28 +102,37 @@ public class LombokConfigIndex extends FileBasedIndexExtension<ConfigKey, Config
 
   @NotNull
   @Override
-  public KeyDescriptor<ConfigKey> getKeyDescriptor() {
-    return new EnumDataDescriptor<>(ConfigKey.class);
+  public KeyDescriptor<String> getKeyDescriptor() {
+    return EnumeratorStringDescriptor.INSTANCE;
   }
 
   @NotNull
   @Override
-  public DataExternalizer<ConfigValue> getValueExternalizer() {
+  public DataExternalizer<ConfigValues> getValueExternalizer() {
     return new DataExternalizer<>() {
+      // keys are stored by ordinal, index version has to be increased on every change of ConfigKey
+      private final ConfigKey[] configKeys = ConfigKey.values();
+
       @Override
-      public void save(@NotNull DataOutput out, ConfigValue configValue) throws IOException {
-        var isNotNullValue = configValue.getValue() != null;
-        out.writeBoolean(isNotNullValue);
-        if (isNotNullValue) {
-          EnumeratorStringDescriptor.INSTANCE.save(out, configValue.getValue());
+      public void save(@NotNull DataOutput out, ConfigValues configValues) throws IOException {
+        out.writeBoolean(configValues.isStopBubbling());
+        DataInputOutputUtil.writeINT(out, configValues.getValues().size());
+        for (Map.Entry<ConfigKey, String> entry : configValues.getValues().entrySet()) {
+          DataInputOutputUtil.writeINT(out, entry.getKey().ordinal());
+          EnumeratorStringDescriptor.INSTANCE.save(out, entry.getValue());
         }
-        out.writeBoolean(configValue.isStopBubbling());
       }
 
       @Override
-      public ConfigValue read(@NotNull DataInput in) throws IOException {
-        var isNotNullValue = in.readBoolean();
-        return new ConfigValue(isNotNullValue ? EnumeratorStringDescriptor.INSTANCE.read(in) : null, in.readBoolean());
+      public ConfigValues read(@NotNull DataInput in) throws IOException {
+        final boolean stopBubbling = in.readBoolean();
+        final int size = DataInputOutputUtil.readINT(in);
+        final Map<ConfigKey, String> values = new EnumMap<>(ConfigKey.class);
+        for (int i = 0; i < size; i++) {
+          final ConfigKey configKey = configKeys[DataInputOutputUtil.readINT(in)];
+          values.put(configKey, EnumeratorStringDescriptor.INSTANCE.read(in));
+        }
+        return new ConfigValues(values, stopBubbling);
       }
     };
   }
@@ -132,6 +150,6 @@ public class LombokConfigIndex extends FileBasedIndexExtension<ConfigKey, Config
 
   @Override
   public int getVersion() {
-    return 14;
+    return 15;
   }
 }
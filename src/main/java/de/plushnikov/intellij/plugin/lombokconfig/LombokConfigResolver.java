@@ -0,0 +1,195 @@
+package de.plushnikov.intellij.plugin.lombokconfig;
+
+import com.intellij.openapi.components.Service;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.roots.ProjectRootManager;
+import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.search.FileTypeIndex;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import com.intellij.util.indexing.FileBasedIndex;
+import de.plushnikov.intellij.plugin.language.LombokConfigFileType;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resolves lombok.config values of the whole project at once: for every directory containing a lombok.config file
+ * all values are computed a single time per config change, already combined with values of the parent directories.
+ * Lookup of a property is then reduced to searching of the nearest directory with a config file.
+ */
+@Service(Service.Level.PROJECT)
+public final class LombokConfigResolver {
+  private final Project myProject;
+
+  public LombokConfigResolver(@NotNull Project project) {
+    myProject = project;
+  }
+
+  @NotNull
+  public static LombokConfigResolver getInstance(@NotNull Project project) {
+    return project.getService(LombokConfigResolver.class);
+  }
+
+  /**
+   * Returns value of the property valid for the given directory. Lookup results are shared by all files of the directory
+   */
+  @NotNull
+  public Collection<String> getProperty(@NotNull ConfigKey configKey, @Nullable VirtualFile directory) {
+    if (null == directory) {
+      return ResolvedConfig.EMPTY.getProperty(configKey);
+    }
+    return getProjectConfigs().getDirectoryConfig(directory).getProperty(configKey);
+  }
+
+  @NotNull
+  private ProjectConfigs getProjectConfigs() {
+    return CachedValuesManager.getManager(myProject).getCachedValue(myProject, () -> CachedValueProvider.Result.create(
+      new ProjectConfigs(computeResolvedConfigs()), LombokConfigChangeListener.CONFIG_CHANGE_TRACKER,
+      ProjectRootManager.getInstance(myProject)));
+  }
+
+  @NotNull
+  private Map<VirtualFile, ResolvedConfig> computeResolvedConfigs() {
+    final FileBasedIndex fileBasedIndex = FileBasedIndex.getInstance();
+    final Collection<VirtualFile> configFiles =
+      FileTypeIndex.getFiles(LombokConfigFileType.INSTANCE, GlobalSearchScope.allScope(myProject));
+
+    final Map<VirtualFile, ConfigValues> declaredConfigs = new HashMap<>();
+    for (VirtualFile configFile : configFiles) {
+      final VirtualFile directory = configFile.getParent();
+      if (null != directory) {
+        final Collection<ConfigValues> configValues = fileBasedIndex.getFileData(LombokConfigIndex.NAME, configFile, myProject).values();
+        if (!configValues.isEmpty()) {
+          declaredConfigs.put(directory, configValues.iterator().next());
+        }
+      }
+    }
+
+    final Map<VirtualFile, ResolvedConfig> result = new HashMap<>();
+    for (VirtualFile directory : declaredConfigs.keySet()) {
+      resolveDirectory(directory, declaredConfigs, result);
+    }
+    return result;
+  }
+
+  @NotNull
+  private static ResolvedConfig resolveDirectory(@NotNull VirtualFile directory,
+                                                 @NotNull Map<VirtualFile, ConfigValues> declaredConfigs,
+                                                 @NotNull Map<VirtualFile, ResolvedConfig> resolvedConfigs) {
+    ResolvedConfig result = resolvedConfigs.get(directory);
+    if (null == result) {
+      final ConfigValues declaredValues = declaredConfigs.get(directory);
+
+      ResolvedConfig parentConfig = ResolvedConfig.EMPTY;
+      if (!declaredValues.isStopBubbling()) {
+        @Nullable VirtualFile parentDirectory = directory.getParent();
+        while (null != parentDirectory && !declaredConfigs.containsKey(parentDirectory)) {
+          parentDirectory = parentDirectory.getParent();
+        }
+        if (null != parentDirectory) {
+          parentConfig = resolveDirectory(parentDirectory, declaredConfigs, resolvedConfigs);
+        }
+      }
+
+      result = parentConfig.withDeclaredValues(declaredValues);
+      resolvedConfigs.put(directory, result);
+    }
+    return result;
+  }
+
+  /**
+   * Resolved configs of all directories with a config file and lazily found configs of every other requested directory
+   */
+  private static final class ProjectConfigs {
+    private final Map<VirtualFile, ResolvedConfig> myConfigDirectories;
+    private final Map<VirtualFile, ResolvedConfig> myDirectoryConfigs = new ConcurrentHashMap<>();
+
+    private ProjectConfigs(@NotNull Map<VirtualFile, ResolvedConfig> configDirectories) {
+      myConfigDirectories = configDirectories;
+    }
+
+    @NotNull
+    ResolvedConfig getDirectoryConfig(@NotNull VirtualFile directory) {
+      if (myConfigDirectories.isEmpty()) {
+        return ResolvedConfig.EMPTY;
+      }
+      return myDirectoryConfigs.computeIfAbsent(directory, this::findNearestConfig);
+    }
+
+    @NotNull
+    private ResolvedConfig findNearestConfig(@Nullable VirtualFile file) {
+      if (!myConfigDirectories.isEmpty()) {
+        @Nullable VirtualFile currentFile = file;
+        while (currentFile != null) {
+          final ResolvedConfig resolvedConfig = myConfigDirectories.get(currentFile);
+          if (null != resolvedConfig) {
+            return resolvedConfig;
+          }
+          currentFile = currentFile.getParent();
+        }
+      }
+      return ResolvedConfig.EMPTY;
+    }
+  }
+
+  /**
+   * Values of all config keys valid for one directory
+   */
+  private static final class ResolvedConfig {
+    private static final ResolvedConfig EMPTY = new ResolvedConfig(new EnumMap<>(ConfigKey.class));
+
+    private final Map<ConfigKey, Collection<String>> myProperties;
+
+    private ResolvedConfig(@NotNull Map<ConfigKey, Collection<String>> properties) {
+      myProperties = properties;
+    }
+
+    @NotNull
+    Collection<String> getProperty(@NotNull ConfigKey configKey) {
+      final Collection<String> result = myProperties.get(configKey);
+      if (null != result) {
+        return result;
+      }
+      return configKey.isConfigScalarValue() ? Collections.singletonList(configKey.getConfigDefaultValue()) : Collections.emptySet();
+    }
+
+    @NotNull
+    ResolvedConfig withDeclaredValues(@NotNull ConfigValues declaredValues) {
+      final Map<ConfigKey, Collection<String>> result = new EnumMap<>(ConfigKey.class);
+      result.putAll(myProperties);
+
+      for (Map.Entry<ConfigKey, String> entry : declaredValues.getValues().entrySet()) {
+        final ConfigKey configKey = entry.getKey();
+        final String value = entry.getValue();
+        if (configKey.isConfigScalarValue()) {
+          result.put(configKey, Collections.singletonList(value));
+        }
+        else {
+          result.put(configKey, applyCollectionOperations(getProperty(configKey), value));
+        }
+      }
+      return new ResolvedConfig(result);
+    }
+
+    @NotNull
+    private static Collection<String> applyCollectionOperations(@NotNull Collection<String> parentValues, @NotNull String operations) {
+      final Set<String> result = new HashSet<>(parentValues);
+      if (StringUtil.isNotEmpty(operations)) {
+        for (String value : operations.split(";")) {
+          if (value.startsWith("+")) {
+            result.add(value.substring(1));
+          }
+          else if (value.startsWith("-")) {
+            result.remove(value.substring(1));
+          }
+        }
+      }
+      return Collections.unmodifiableSet(result);
+    }
+  }
+}
@@ -2,10 +2,11 @@ package de.plushnikov.intellij.plugin.processor;
 
 import com.intellij.openapi.application.ApplicationManager;
 import com.intellij.openapi.components.Service;
+import com.intellij.openapi.roots.ProjectRootManager;
 import com.intellij.openapi.util.text.StringUtil;
-import com.intellij.psi.PsiAnnotation;
-import com.intellij.psi.PsiElement;
-import com.intellij.psi.PsiJavaCodeReferenceElement;
+import com.intellij.psi.*;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
 import com.intellij.util.containers.ContainerUtil;
 import de.plushnikov.intellij.plugin.processor.clazz.*;
 import de.plushnikov.intellij.plugin.processor.clazz.builder.*;
@@ -21,10 +22,13 @@ import de.plushnikov.intellij.plugin.processor.method.BuilderClassMethodProcesso
 import de.plushnikov.intellij.plugin.processor.method.BuilderMethodProcessor;
 import de.plushnikov.intellij.plugin.processor.method.DelegateMethodProcessor;
 import de.plushnikov.intellij.plugin.processor.modifier.*;
+import de.plushnikov.intellij.plugin.util.PsiAnnotationSearchUtil;
+import de.plushnikov.intellij.plugin.util.PsiClassUtil;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
@@ -90,6 +94,17 @@ public final class LombokProcessorManager {
     .map(StringUtil::getShortName)
     .collect(Collectors.toSet());
 
+  private final List<String> ourSupportedAnnotationFQNs = getAllProcessors()
+    .stream().flatMap(p -> Arrays.stream(p.getSupportedAnnotationClasses()))
+    .distinct()
+    .toList();
+
+  private final Map<String, BitSet> ourAnnotationBitsByFQN = createAnnotationBits(Function.identity());
+  private final Map<String, BitSet> ourAnnotationBitsByShortName = createAnnotationBits(StringUtil::getShortName);
+
+  private final Map<Processor, BitSet> ourProcessorAnnotationBits = getAllProcessors()
+    .stream().collect(Collectors.toMap(Function.identity(), p -> getAnnotationBits(p.getSupportedAnnotationClasses())));
+
   public static LombokProcessorManager getInstance() {
     return ApplicationManager.getApplication().getService(LombokProcessorManager.class);
   }
@@ -326,6 +341,22 @@ public final class LombokProcessorManager {
     );
   }
 
+  private Map<String, BitSet> createAnnotationBits(@NotNull Function<String, String> keyFunction) {
+    final Map<String, BitSet> result = new HashMap<>();
+    for (int index = 0; index < ourSupportedAnnotationFQNs.size(); index++) {
+      result.computeIfAbsent(keyFunction.apply(ourSupportedAnnotationFQNs.get(index)), key -> new BitSet()).set(index);
+    }
+    return result;
+  }
+
+  private BitSet getAnnotationBits(String @NotNull ... annotationFQNs) {
+    final BitSet result = new BitSet();
+    for (String annotationFQN : annotationFQNs) {
+      result.or(ourAnnotationBitsByFQN.get(annotationFQN));
+    }
+    return result;
+  }
+
   public static @NotNull Collection<ModifierProcessor> getLombokModifierProcessors() {
     return Arrays.asList(new FieldDefaultsModifierProcessor(),
                          new UtilityClassModifierProcessor(),
@@ -340,6 +371,88 @@ public final class LombokProcessorManager {
     );
   }
 
+  /**
+   * Returns processors for the given kind of generated elements which support at least one lombok annotation used in the class
+   */
+  public static @NotNull Collection<Processor> getProcessors(@NotNull Class<? extends PsiElement> supportedClass,
+                                                             @NotNull PsiClass psiClass) {
+    final ClassAnnotations classAnnotations = getClassAnnotations(psiClass);
+    if (classAnnotations.annotationBits().isEmpty()) {
+      return Collections.emptyList();
+    }
+    return classAnnotations.processors().computeIfAbsent(supportedClass, type -> {
+      final LombokProcessorManager manager = getInstance();
+      return ContainerUtil.filter(getProcessors(type),
+                                  p -> manager.ourProcessorAnnotationBits.get(p).intersects(classAnnotations.annotationBits()));
+    });
+  }
+
+  /**
+   * Returns a bitmap of all lombok annotations present on the class, its fields, methods and record components,
+   * and on the containing class with its methods (used for predefined inner builder classes).
+   * Returned value is cached and should not be modified.
+   */
+  public static @NotNull BitSet getLombokAnnotationBits(@NotNull PsiClass psiClass) {
+    return getClassAnnotations(psiClass).annotationBits();
+  }
+
+  /**
+   * Lombok annotations of the class together with the processors matching them, for every kind of generated elements
+   */
+  private record ClassAnnotations(@NotNull BitSet annotationBits,
+                                  @NotNull Map<Class<? extends PsiElement>, Collection<Processor>> processors) {
+  }
+
+  private static @NotNull ClassAnnotations getClassAnnotations(@NotNull PsiClass psiClass) {
+    return CachedValuesManager.getCachedValue(psiClass, () -> {
+      final LombokProcessorManager manager = getInstance();
+      final BitSet result = new BitSet();
+      manager.collectAnnotationBits(psiClass, result);
+      if (psiClass.getParent() instanceof PsiClass parentClass) {
+        manager.collectAnnotationBits(parentClass, result);
+      }
+      // annotations are matched by their resolved qualified names, which change together with the libraries of the project
+      return CachedValueProvider.Result.create(new ClassAnnotations(result, new ConcurrentHashMap<>()),
+                                               psiClass, ProjectRootManager.getInstance(psiClass.getProject()));
+    });
+  }
+
+  private void collectAnnotationBits(@NotNull PsiClass psiClass, @NotNull BitSet result) {
+    addAnnotationBits(psiClass, result, false);
+    for (PsiField psiField : PsiClassUtil.collectClassFieldsIntern(psiClass)) {
+      addAnnotationBits(psiField, result, false);
+    }
+    for (PsiRecordComponent psiRecordComponent : psiClass.getRecordComponents()) {
+      addAnnotationBits(psiRecordComponent, result, false);
+    }
+    for (PsiMethod psiMethod : PsiClassUtil.collectClassMethodsIntern(psiClass)) {
+      // method processors are matching annotations by short name only
+      addAnnotationBits(psiMethod, result, true);
+    }
+  }
+
+  private void addAnnotationBits(@NotNull PsiModifierListOwner modifierListOwner, @NotNull BitSet result, boolean acceptShortNameOnly) {
+    final PsiModifierList modifierList = modifierListOwner.getModifierList();
+    if (null == modifierList) {
+      return;
+    }
+    for (PsiAnnotation psiAnnotation : modifierList.getAnnotations()) {
+      final BitSet shortNameBits = ourAnnotationBitsByShortName.get(PsiAnnotationSearchUtil.getShortNameOf(psiAnnotation));
+      if (null != shortNameBits) {
+        if (acceptShortNameOnly) {
+          result.or(shortNameBits);
+        }
+        else {
+          final String qualifiedName = psiAnnotation.getQualifiedName();
+          final BitSet fqnBits = null == qualifiedName ? null : ourAnnotationBitsByFQN.get(qualifiedName);
+          if (null != fqnBits) {
+            result.or(fqnBits);
+          }
+        }
+      }
+    }
+  }
+
   public static @NotNull Collection<Processor> getProcessors(@NotNull PsiAnnotation psiAnnotation) {
     LombokProcessorManager manager = getInstance();
 
@@ -44,5 +44,14 @@ public interface Processor {
     return Collections.emptyList();
   }
 
+  /**
+   * Returns names of all elements this processor can possibly generate for the given class.
+   * An empty collection means nothing will be generated, {@code null} means the names are not known in advance.
+   */
+  @Nullable
+  default Collection<String> getNamesOfPossibleGeneratedElements(@NotNull PsiClass psiClass) {
+    return null;
+  }
+
   LombokPsiElementUsage checkFieldUsage(@NotNull PsiField psiField, @NotNull PsiAnnotation psiAnnotation);
 }
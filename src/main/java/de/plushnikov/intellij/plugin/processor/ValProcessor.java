@@ -3,23 +3,35 @@ package de.plushnikov.intellij.plugin.processor;
 import com.intellij.codeInsight.daemon.impl.analysis.JavaGenericsUtil;
 import com.intellij.codeInspection.ProblemHighlightType;
 import com.intellij.codeInspection.ProblemsHolder;
+import com.intellij.openapi.util.ModificationTracker;
+import com.intellij.openapi.util.RecursionGuard;
 import com.intellij.openapi.util.RecursionManager;
 import com.intellij.openapi.util.text.StringUtil;
 import com.intellij.psi.*;
 import com.intellij.psi.impl.source.JavaVarTypeUtil;
+import com.intellij.psi.impl.source.tree.CompositeElement;
+import com.intellij.psi.infos.MethodCandidateInfo;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import com.intellij.psi.util.PsiModificationTracker;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.util.ObjectUtils;
 import de.plushnikov.intellij.plugin.LombokBundle;
 import de.plushnikov.intellij.plugin.LombokClassNames;
 import de.plushnikov.intellij.plugin.problem.LombokProblem;
+import de.plushnikov.intellij.plugin.util.JavaStructureModificationTracker;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.Collection;
-import java.util.Collections;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class ValProcessor extends AbstractProcessor {
 
   private static final String LOMBOK_VAL_NAME = StringUtil.getShortName(LombokClassNames.VAL);
   private static final String LOMBOK_VAR_NAME = StringUtil.getShortName(LombokClassNames.VAR);
+  private static final Set<String> VAL_VAR_PACKAGES = Set.of(StringUtil.getPackageName(LombokClassNames.VAL),
+                                                             StringUtil.getPackageName(LombokClassNames.EXPERIMENTAL_VAR));
 
   public ValProcessor() {
     super(PsiElement.class, LombokClassNames.VAL, LombokClassNames.EXPERIMENTAL_VAR, LombokClassNames.VAR);
@@ -36,7 +48,7 @@ public class ValProcessor extends AbstractProcessor {
     if (typeElement == null) {
       return false;
     }
-    return isPossibleVal(typeElement.getText()) && isVal(resolveQualifiedName(typeElement));
+    return isPossibleVal(getPossibleValOrVarName(typeElement)) && isVal(resolveQualifiedName(typeElement));
   }
 
   public static boolean isVar(@NotNull PsiVariable psiVariable) {
@@ -50,13 +62,13 @@ public class ValProcessor extends AbstractProcessor {
     if (typeElement == null) {
       return false;
     }
-    return isPossibleVar(typeElement.getText()) && isVar(resolveQualifiedName(typeElement));
+    return isPossibleVar(getPossibleValOrVarName(typeElement)) && isVar(resolveQualifiedName(typeElement));
   }
 
   public static boolean isVal(@NotNull PsiLocalVariable psiLocalVariable) {
     if (psiLocalVariable.hasInitializer()) {
       final PsiTypeElement typeElement = psiLocalVariable.getTypeElement();
-      return isPossibleVal(typeElement.getText()) && isVal(resolveQualifiedName(typeElement));
+      return isPossibleVal(getPossibleValOrVarName(typeElement)) && isVal(resolveQualifiedName(typeElement));
     }
     return false;
   }
@@ -64,7 +76,7 @@ public class ValProcessor extends AbstractProcessor {
   public static boolean isVar(@NotNull PsiLocalVariable psiLocalVariable) {
     if (psiLocalVariable.hasInitializer()) {
       final PsiTypeElement typeElement = psiLocalVariable.getTypeElement();
-      return isPossibleVar(typeElement.getText()) && isVar(resolveQualifiedName(typeElement));
+      return isPossibleVar(getPossibleValOrVarName(typeElement)) && isVar(resolveQualifiedName(typeElement));
     }
     return false;
   }
@@ -72,7 +84,7 @@ public class ValProcessor extends AbstractProcessor {
   private static boolean isValOrVar(@NotNull PsiLocalVariable psiLocalVariable) {
     if (psiLocalVariable.hasInitializer()) {
       final PsiTypeElement typeElement = psiLocalVariable.getTypeElement();
-      return isPossibleValOrVar(typeElement.getText()) && isValOrVar(resolveQualifiedName(typeElement));
+      return isPossibleValOrVar(getPossibleValOrVarName(typeElement)) && isValOrVar(resolveQualifiedName(typeElement));
     }
     return false;
   }
@@ -80,7 +92,7 @@ public class ValProcessor extends AbstractProcessor {
   private static boolean isValOrVarForEach(@NotNull PsiParameter psiParameter) {
     if (psiParameter.getParent() instanceof PsiForeachStatement) {
       final PsiTypeElement typeElement = psiParameter.getTypeElement();
-      return null != typeElement && isPossibleValOrVar(typeElement.getText()) && isValOrVar(resolveQualifiedName(typeElement));
+      return null != typeElement && isPossibleValOrVar(getPossibleValOrVarName(typeElement)) && isValOrVar(resolveQualifiedName(typeElement));
     }
     return false;
   }
@@ -109,6 +121,46 @@ public class ValProcessor extends AbstractProcessor {
     return LombokClassNames.VAR.equals(fullQualifiedName) || LombokClassNames.EXPERIMENTAL_VAR.equals(fullQualifiedName);
   }
 
+  /**
+   * Returns text of the type element only if it can be an unqualified val or var.
+   * Length of the type element is known without building its text, so longer types are rejected cheaply
+   */
+  @Nullable
+  private static String getPossibleValOrVarName(@Nullable PsiTypeElement typeElement) {
+    if (null == typeElement || typeElement.getTextLength() != LOMBOK_VAL_NAME.length()) {
+      return null;
+    }
+    return typeElement.getText();
+  }
+
+  /**
+   * val and var can be used only after import of lombok.val, lombok.var or lombok.experimental.var
+   * (or on demand import of their packages), check it once per file
+   */
+  private static boolean mayUseValOrVar(@Nullable PsiFile psiFile) {
+    if (!(psiFile instanceof PsiJavaFile javaFile)) {
+      return true;
+    }
+    return CachedValuesManager.getCachedValue(javaFile, () -> CachedValueProvider.Result.create(importsValOrVar(javaFile), javaFile));
+  }
+
+  private static boolean importsValOrVar(@NotNull PsiJavaFile javaFile) {
+    if (VAL_VAR_PACKAGES.contains(javaFile.getPackageName())) {
+      return true;
+    }
+
+    final PsiImportList importList = javaFile.getImportList();
+    if (null != importList) {
+      for (PsiImportStatement importStatement : importList.getImportStatements()) {
+        final String qualifiedName = importStatement.getQualifiedName();
+        if (importStatement.isOnDemand() ? VAL_VAR_PACKAGES.contains(qualifiedName) : isValOrVar(qualifiedName)) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
   @Nullable
   private static String resolveQualifiedName(@NotNull PsiTypeElement typeElement) {
     PsiJavaCodeReferenceElement reference = typeElement.getInnermostComponentReferenceElement();
@@ -133,7 +185,7 @@ public class ValProcessor extends AbstractProcessor {
 
   public void verifyVariable(@NotNull final PsiLocalVariable psiLocalVariable, @NotNull final ProblemsHolder holder) {
     final PsiTypeElement typeElement = psiLocalVariable.getTypeElement();
-    final String typeElementText = typeElement.getText();
+    final String typeElementText = getPossibleValOrVarName(typeElement);
     boolean isVal = isPossibleVal(typeElementText) && isVal(resolveQualifiedName(typeElement));
     boolean isVar = isPossibleVar(typeElementText) && isVar(resolveQualifiedName(typeElement));
     final String ann = isVal ? "val" : "var";
@@ -158,7 +210,7 @@ public class ValProcessor extends AbstractProcessor {
 
   public void verifyParameter(@NotNull final PsiParameter psiParameter, @NotNull final ProblemsHolder holder) {
     final PsiTypeElement typeElement = psiParameter.getTypeElement();
-    final String typeElementText = null != typeElement ? typeElement.getText() : null;
+    final String typeElementText = getPossibleValOrVarName(typeElement);
     boolean isVal = isPossibleVal(typeElementText) && isVal(resolveQualifiedName(typeElement));
     boolean isVar = isPossibleVar(typeElementText) && isVar(resolveQualifiedName(typeElement));
     if (isVar || isVal) {
@@ -176,6 +228,10 @@ public class ValProcessor extends AbstractProcessor {
 
   public static boolean canInferType(@NotNull PsiTypeElement typeElement) {
     final PsiElement parent = typeElement.getParent();
+    if (!(parent instanceof PsiLocalVariable || parent instanceof PsiParameter) ||
+        !isPossibleValOrVar(getPossibleValOrVarName(typeElement)) || !mayUseValOrVar(typeElement.getContainingFile())) {
+      return false;
+    }
     return (parent instanceof PsiLocalVariable && isValOrVar((PsiLocalVariable) parent)) ||
       (parent instanceof PsiParameter && isValOrVarForEach((PsiParameter) parent));
   }
@@ -185,11 +241,12 @@ public class ValProcessor extends AbstractProcessor {
     PsiType psiType = null;
 
     if (canInferType(typeElement)) {
-      final PsiElement parent = typeElement.getParent();
-      if (parent instanceof PsiLocalVariable) {
-        psiType = processLocalVariableInitializer(((PsiLocalVariable) parent).getInitializer());
-      } else {
-        psiType = processParameterDeclaration(((PsiParameter) parent).getDeclarationScope());
+      final PsiCodeBlock codeBlock = PsiTreeUtil.getTopmostParentOfType(typeElement, PsiCodeBlock.class);
+      if (null != codeBlock) {
+        psiType = CodeBlockTypes.getInstance(codeBlock).getType(typeElement);
+      }
+      else {
+        psiType = calculateType(typeElement);
       }
 
       if (null == psiType) {
@@ -199,6 +256,202 @@ public class ValProcessor extends AbstractProcessor {
     return psiType;
   }
 
+  /**
+   * Infers types of all val/var declarations of the code block in a single forward pass
+   */
+  @NotNull
+  public static Map<PsiTypeElement, PsiType> inferTypes(@NotNull PsiCodeBlock codeBlock) {
+    final PsiCodeBlock topmostCodeBlock = ObjectUtils.notNull(PsiTreeUtil.getTopmostParentOfType(codeBlock, PsiCodeBlock.class), codeBlock);
+    final Map<PsiTypeElement, PsiType> result = new LinkedHashMap<>();
+    for (PsiTypeElement typeElement : CodeBlockTypes.getInstance(topmostCodeBlock).getInferableTypeElements()) {
+      if (PsiTreeUtil.isAncestor(codeBlock, typeElement, true)) {
+        result.put(typeElement, inferType(typeElement));
+      }
+    }
+    return result;
+  }
+
+  @Nullable
+  private static PsiType calculateType(@NotNull PsiTypeElement typeElement) {
+    final PsiElement parent = typeElement.getParent();
+    if (parent instanceof PsiLocalVariable) {
+      return processLocalVariableInitializer(((PsiLocalVariable) parent).getInitializer());
+    }
+    return processParameterDeclaration(((PsiParameter) parent).getDeclarationScope());
+  }
+
+  /**
+   * Caches inferred types of all val/var declarations of a code block of a member.
+   * The cache is dropped on any change inside the code block or on structural changes outside code blocks,
+   * changes inside other code blocks keep it. Types are inferred on demand only, together with the declarations
+   * their initializers reference.
+   */
+  private static final class CodeBlockTypes {
+    private final PsiCodeBlock myCodeBlock;
+    private final Map<PsiTypeElement, Optional<PsiType>> myTypes = new ConcurrentHashMap<>();
+    private volatile List<PsiTypeElement> myInferableTypeElements;
+    private volatile Set<String> myInferableNames;
+
+    private CodeBlockTypes(@NotNull PsiCodeBlock codeBlock) {
+      myCodeBlock = codeBlock;
+    }
+
+    static @NotNull CodeBlockTypes getInstance(@NotNull PsiCodeBlock codeBlock) {
+      return CachedValuesManager.getCachedValue(codeBlock, () -> CachedValueProvider.Result.create(
+        new CodeBlockTypes(codeBlock),
+        getCodeBlockModificationTracker(codeBlock),
+        JavaStructureModificationTracker.getInstance(codeBlock.getProject())));
+    }
+
+    @NotNull
+    private static ModificationTracker getCodeBlockModificationTracker(@NotNull PsiCodeBlock codeBlock) {
+      // changes of non-physical copies are not seen by the java structure tracker
+      if (codeBlock.isPhysical() && codeBlock.getNode() instanceof CompositeElement compositeElement) {
+        return compositeElement::getModificationCount;
+      }
+      return PsiModificationTracker.getInstance(codeBlock.getProject());
+    }
+
+    @NotNull
+    List<PsiTypeElement> getInferableTypeElements() {
+      List<PsiTypeElement> result = myInferableTypeElements;
+      if (null == result) {
+        final List<PsiTypeElement> typeElements = new ArrayList<>();
+        myCodeBlock.accept(new JavaRecursiveElementWalkingVisitor() {
+          @Override
+          public void visitTypeElement(@NotNull PsiTypeElement typeElement) {
+            if (canInferType(typeElement)) {
+              typeElements.add(typeElement);
+            }
+            super.visitTypeElement(typeElement);
+          }
+        });
+        result = myInferableTypeElements = Collections.unmodifiableList(typeElements);
+      }
+      return result;
+    }
+
+    @NotNull
+    private Set<String> getInferableNames() {
+      Set<String> result = myInferableNames;
+      if (null == result) {
+        final Set<String> names = new HashSet<>();
+        for (PsiTypeElement typeElement : getInferableTypeElements()) {
+          names.add(((PsiVariable)typeElement.getParent()).getName());
+        }
+        result = myInferableNames = names;
+      }
+      return result;
+    }
+
+    @Nullable
+    PsiType getType(@NotNull PsiTypeElement typeElement) {
+      final Optional<PsiType> cachedType = myTypes.get(typeElement);
+      if (null != cachedType) {
+        return cachedType.orElse(null);
+      }
+
+      // infer the referenced declarations first, so chained declarations are inferred one after another
+      // and not by a deep recursion from the last one
+      for (PsiTypeElement dependency : getDependenciesInInferenceOrder(typeElement)) {
+        if (!myTypes.containsKey(dependency)) {
+          inferAndCache(dependency);
+        }
+      }
+      return inferAndCache(typeElement);
+    }
+
+    /**
+     * Returns not yet inferred val/var declarations the type of the given one depends on, transitively, every declaration
+     * after all of its own dependencies
+     */
+    @NotNull
+    private List<PsiTypeElement> getDependenciesInInferenceOrder(@NotNull PsiTypeElement typeElement) {
+      final List<PsiTypeElement> result = new ArrayList<>();
+      final Set<PsiTypeElement> visited = new HashSet<>();
+      visited.add(typeElement);
+
+      // depth first search with an explicit stack, chains of declarations can be very long
+      final Deque<PsiTypeElement> path = new ArrayDeque<>();
+      final Deque<Iterator<PsiTypeElement>> pendingDependencies = new ArrayDeque<>();
+      path.push(typeElement);
+      pendingDependencies.push(getDirectDependencies(typeElement).iterator());
+      while (!path.isEmpty()) {
+        final Iterator<PsiTypeElement> iterator = pendingDependencies.peek();
+        if (iterator.hasNext()) {
+          final PsiTypeElement dependency = iterator.next();
+          if (!myTypes.containsKey(dependency) && visited.add(dependency)) {
+            path.push(dependency);
+            pendingDependencies.push(getDirectDependencies(dependency).iterator());
+          }
+        }
+        else {
+          pendingDependencies.pop();
+          final PsiTypeElement inferable = path.pop();
+          if (inferable != typeElement) {
+            result.add(inferable);
+          }
+        }
+      }
+      return result;
+    }
+
+    /**
+     * Returns val/var declarations of this code block referenced by the initializer (or the iterated value) of the given one.
+     * Only plain variable references are resolved, method calls are left to the inference itself.
+     */
+    @NotNull
+    private List<PsiTypeElement> getDirectDependencies(@NotNull PsiTypeElement typeElement) {
+      final PsiExpression source = getTypeSource(typeElement);
+      if (null == source) {
+        return Collections.emptyList();
+      }
+
+      final Set<String> inferableNames = getInferableNames();
+      final List<PsiTypeElement> result = new ArrayList<>();
+      source.accept(new JavaRecursiveElementWalkingVisitor() {
+        @Override
+        public void visitReferenceExpression(@NotNull PsiReferenceExpression expression) {
+          super.visitReferenceExpression(expression);
+          if (null == expression.getQualifierExpression() &&
+              !(expression.getParent() instanceof PsiMethodCallExpression) &&
+              inferableNames.contains(expression.getReferenceName()) &&
+              expression.resolve() instanceof PsiVariable variable) {
+            final PsiTypeElement variableTypeElement = variable.getTypeElement();
+            if (null != variableTypeElement && variableTypeElement != typeElement &&
+                PsiTreeUtil.isAncestor(myCodeBlock, variableTypeElement, true) && canInferType(variableTypeElement)) {
+              result.add(variableTypeElement);
+            }
+          }
+        }
+      });
+      return result;
+    }
+
+    @Nullable
+    private static PsiExpression getTypeSource(@NotNull PsiTypeElement typeElement) {
+      final PsiElement parent = typeElement.getParent();
+      if (parent instanceof PsiLocalVariable localVariable) {
+        return localVariable.getInitializer();
+      }
+      if (parent instanceof PsiParameter parameter && parameter.getDeclarationScope() instanceof PsiForeachStatement foreachStatement) {
+        return foreachStatement.getIteratedValue();
+      }
+      return null;
+    }
+
+    @Nullable
+    private PsiType inferAndCache(@NotNull PsiTypeElement typeElement) {
+      final RecursionGuard.StackStamp stackStamp = RecursionManager.markStack();
+      final PsiType result = calculateType(typeElement);
+      // types calculated during overload resolution of an enclosing call are speculative only
+      if (stackStamp.mayCacheNow() && !MethodCandidateInfo.isOverloadCheck()) {
+        myTypes.put(typeElement, Optional.ofNullable(result));
+      }
+      return result;
+    }
+  }
+
   private static PsiType processLocalVariableInitializer(final PsiExpression psiExpression) {
     PsiType result = null;
     if (null != psiExpression && !(psiExpression instanceof PsiArrayInitializerExpression)) {
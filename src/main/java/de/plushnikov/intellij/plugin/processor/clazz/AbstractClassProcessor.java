@@ -74,6 +74,17 @@ public abstract class AbstractClassProcessor extends AbstractProcessor implement
     return Collections.emptyList();
   }
 
+  @Nullable
+  @Override
+  public Collection<String> getNamesOfPossibleGeneratedElements(@NotNull PsiClass psiClass) {
+    PsiAnnotation psiAnnotation = PsiAnnotationSearchUtil.findAnnotation(psiClass, getSupportedAnnotationClasses());
+    if (null == psiAnnotation || !supportAnnotationVariant(psiAnnotation)) {
+      return Collections.emptyList();
+    }
+    final Collection<String> namesOfGeneratedElements = getNamesOfPossibleGeneratedElements(psiClass, psiAnnotation);
+    return namesOfGeneratedElements.isEmpty() ? null : namesOfGeneratedElements;
+  }
+
   @NotNull
   @Override
   public Collection<PsiAnnotation> collectProcessedAnnotations(@NotNull PsiClass psiClass) {
@@ -20,6 +20,7 @@ import org.jetbrains.annotations.Nullable;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.function.Supplier;
 
 import static de.plushnikov.intellij.plugin.LombokClassNames.TO_STRING_EXCLUDE;
 import static de.plushnikov.intellij.plugin.LombokClassNames.TO_STRING_INCLUDE;
@@ -103,28 +104,35 @@ public final class ToStringProcessor extends AbstractClassProcessor {
       return Collections.emptyList();
     }
 
-    final Collection<MemberInfo> memberInfos = EqualsAndHashCodeToStringHandler.filterMembers(psiClass, psiAnnotation, false,
-                                                                                              INCLUDE_ANNOTATION_METHOD,
-                                                                                              ConfigKey.TOSTRING_ONLY_EXPLICITLY_INCLUDED,
-                                                                                              TO_STRING_INCLUDE, TO_STRING_EXCLUDE);
-    final PsiMethod stringMethod = createToStringMethod(psiClass, memberInfos, psiAnnotation, false);
+    // members are selected only when the body of the method is requested
+    final Supplier<Collection<MemberInfo>> memberInfosSupplier =
+      () -> EqualsAndHashCodeToStringHandler.filterMembers(psiClass, psiAnnotation, false,
+                                                           INCLUDE_ANNOTATION_METHOD, ConfigKey.TOSTRING_ONLY_EXPLICITLY_INCLUDED,
+                                                           TO_STRING_INCLUDE, TO_STRING_EXCLUDE);
+    final PsiMethod stringMethod = createToStringMethod(psiClass, psiAnnotation, false, memberInfosSupplier);
     return Collections.singletonList(stringMethod);
   }
 
   @NotNull
   public PsiMethod createToStringMethod(@NotNull PsiClass psiClass, @NotNull Collection<MemberInfo> memberInfos,
                                         @NotNull PsiAnnotation psiAnnotation, boolean forceCallSuper) {
-    final PsiManager psiManager = psiClass.getManager();
+    return createToStringMethod(psiClass, psiAnnotation, forceCallSuper, () -> memberInfos);
+  }
 
-    final String paramString = createParamString(psiClass, memberInfos, psiAnnotation, forceCallSuper);
-    final String blockText = String.format("return \"%s(%s)\";", getSimpleClassName(psiClass), paramString);
+  @NotNull
+  private PsiMethod createToStringMethod(@NotNull PsiClass psiClass, @NotNull PsiAnnotation psiAnnotation, boolean forceCallSuper,
+                                         @NotNull Supplier<Collection<MemberInfo>> memberInfosSupplier) {
+    final PsiManager psiManager = psiClass.getManager();
 
     final LombokLightMethodBuilder methodBuilder = new LombokLightMethodBuilder(psiManager, TO_STRING_METHOD_NAME)
       .withMethodReturnType(PsiType.getJavaLangString(psiManager, GlobalSearchScope.allScope(psiClass.getProject())))
       .withContainingClass(psiClass)
       .withNavigationElement(psiAnnotation)
       .withModifier(PsiModifier.PUBLIC)
-      .withBodyText(blockText);
+      .withBodyText(m -> {
+        final String paramString = createParamString(psiClass, memberInfosSupplier.get(), psiAnnotation, forceCallSuper);
+        return String.format("return \"%s(%s)\";", getSimpleClassName(psiClass), paramString);
+      });
 
     LombokAddNullAnnotations.createRelevantNonNullAnnotation(psiClass, methodBuilder);
 
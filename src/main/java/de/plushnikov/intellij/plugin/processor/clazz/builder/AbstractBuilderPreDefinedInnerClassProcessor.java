@@ -9,6 +9,7 @@ import de.plushnikov.intellij.plugin.problem.ProblemProcessingSink;
 import de.plushnikov.intellij.plugin.problem.ProblemSink;
 import de.plushnikov.intellij.plugin.processor.clazz.AbstractClassProcessor;
 import de.plushnikov.intellij.plugin.processor.handler.BuilderHandler;
+import de.plushnikov.intellij.plugin.processor.handler.BuilderModel;
 import de.plushnikov.intellij.plugin.util.PsiAnnotationSearchUtil;
 import de.plushnikov.intellij.plugin.util.PsiClassUtil;
 import org.jetbrains.annotations.NotNull;
@@ -23,6 +24,13 @@ public abstract class AbstractBuilderPreDefinedInnerClassProcessor extends Abstr
     super(supportedClass, supportedAnnotationClass);
   }
 
+  @Nullable
+  @Override
+  public Collection<String> getNamesOfPossibleGeneratedElements(@NotNull PsiClass psiClass) {
+    // annotation is placed on the parent class, so names can't be predicted from this class alone
+    return null;
+  }
+
   @NotNull
   @Override
   public List<? super PsiElement> process(@NotNull PsiClass psiClass, @Nullable String nameHint) {
@@ -41,7 +49,8 @@ public abstract class AbstractBuilderPreDefinedInnerClassProcessor extends Abstr
       for (PsiMethod psiMethod : psiMethods) {
         final PsiAnnotation psiBuilderAnnotation = PsiAnnotationSearchUtil.findAnnotation(psiMethod, getSupportedAnnotationClasses());
         if (null != psiBuilderAnnotation) {
-          final String builderClassNameOfThisMethod = BuilderHandler.getBuilderClassName(psiParentClass, psiBuilderAnnotation, psiMethod);
+          final String builderClassNameOfThisMethod =
+            BuilderModel.getInstance(psiParentClass, psiMethod, psiBuilderAnnotation).getBuilderClassName();
           // check we found right method for this existing builder class
           if (Objects.equals(builderClassNameOfThisMethod, psiClass.getName())) {
             return processAnnotation(psiParentClass, psiMethod, psiBuilderAnnotation, psiClass, nameHint);
@@ -56,7 +65,7 @@ public abstract class AbstractBuilderPreDefinedInnerClassProcessor extends Abstr
                                                      @NotNull PsiAnnotation psiAnnotation, @NotNull PsiClass psiClass,
                                                      @Nullable String nameHint) {
     // use parent class as source!
-    final String builderClassName = BuilderHandler.getBuilderClassName(psiParentClass, psiAnnotation, psiParentMethod);
+    final String builderClassName = BuilderModel.getInstance(psiParentClass, psiParentMethod, psiAnnotation).getBuilderClassName();
 
     List<? super PsiElement> result = new ArrayList<>();
     // apply only to inner BuilderClass
@@ -82,6 +91,9 @@ public abstract class AbstractBuilderPreDefinedInnerClassProcessor extends Abstr
 
   @Override
   protected boolean validate(@NotNull PsiAnnotation psiAnnotation, @NotNull PsiClass psiClass, @NotNull ProblemSink builder) {
+    if (!builder.deepValidation()) {
+      return BuilderModel.getInstance(psiClass, null, psiAnnotation).isValid();
+    }
     return getBuilderHandler().validate(psiClass, psiAnnotation, builder);
   }
 
@@ -8,6 +8,7 @@ import de.plushnikov.intellij.plugin.problem.ProblemProcessingSink;
 import de.plushnikov.intellij.plugin.problem.ProblemSink;
 import de.plushnikov.intellij.plugin.processor.clazz.AbstractClassProcessor;
 import de.plushnikov.intellij.plugin.processor.handler.SuperBuilderHandler;
+import de.plushnikov.intellij.plugin.processor.handler.SuperBuilderModel;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -24,6 +25,13 @@ public abstract class AbstractSuperBuilderPreDefinedInnerClassProcessor extends
     return new SuperBuilderHandler();
   }
 
+  @Nullable
+  @Override
+  public Collection<String> getNamesOfPossibleGeneratedElements(@NotNull PsiClass psiClass) {
+    // annotation is placed on the parent class, so names can't be predicted from this class alone
+    return null;
+  }
+
   @NotNull
   @Override
   public List<? super PsiElement> process(@NotNull PsiClass psiClass, @Nullable String nameHint) {
@@ -42,9 +50,9 @@ public abstract class AbstractSuperBuilderPreDefinedInnerClassProcessor extends
 
   private List<? super PsiElement> processAnnotation(@NotNull PsiClass psiParentClass, @NotNull PsiAnnotation psiAnnotation,
                                                      @NotNull PsiClass psiClass, @Nullable String nameHint) {
-    SuperBuilderHandler builderHandler = getBuilderHandler();
+    final SuperBuilderModel builderModel = SuperBuilderModel.getInstance(psiParentClass, psiAnnotation);
     // use parent class as source!
-    final String builderBaseClassName = builderHandler.getBuilderClassName(psiParentClass);
+    final String builderBaseClassName = builderModel.getBuilderClassName();
 
     List<? super PsiElement> result = new ArrayList<>();
     // apply only to inner BuilderClass
@@ -53,7 +61,7 @@ public abstract class AbstractSuperBuilderPreDefinedInnerClassProcessor extends
       result.addAll(generatePsiElementsOfBaseBuilderClass(psiParentClass, psiAnnotation, psiClass));
     } else {
       // use parent class as source!
-      final String builderImplClassName = builderHandler.getBuilderImplClassName(psiParentClass);
+      final String builderImplClassName = builderModel.getBuilderImplClassName();
       if (builderImplClassName.equals(psiClassName) && noHintOrPossibleToGenerateElementNamed(nameHint, psiClass, psiAnnotation)) {
         result.addAll(generatePsiElementsOfImplBuilderClass(psiParentClass, psiAnnotation, psiClass));
       }
@@ -74,6 +82,9 @@ public abstract class AbstractSuperBuilderPreDefinedInnerClassProcessor extends
 
   @Override
   protected boolean validate(@NotNull PsiAnnotation psiAnnotation, @NotNull PsiClass psiClass, @NotNull ProblemSink builder) {
+    if (!builder.deepValidation()) {
+      return SuperBuilderModel.getInstance(psiClass, psiAnnotation).isValid();
+    }
     return getBuilderHandler().validate(psiClass, psiAnnotation, builder);
   }
 
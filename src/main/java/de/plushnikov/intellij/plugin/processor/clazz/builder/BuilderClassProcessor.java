@@ -7,6 +7,7 @@ import de.plushnikov.intellij.plugin.LombokClassNames;
 import de.plushnikov.intellij.plugin.problem.ProblemSink;
 import de.plushnikov.intellij.plugin.processor.clazz.AbstractClassProcessor;
 import de.plushnikov.intellij.plugin.processor.handler.BuilderHandler;
+import de.plushnikov.intellij.plugin.processor.handler.BuilderModel;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -35,17 +36,20 @@ public final class BuilderClassProcessor extends AbstractClassProcessor {
   protected boolean possibleToGenerateElementNamed(@NotNull String nameHint,
                                                    @NotNull PsiClass psiClass,
                                                    @NotNull PsiAnnotation psiAnnotation) {
-    return nameHint.equals(BuilderHandler.getBuilderClassName(psiClass, psiAnnotation, null));
+    return nameHint.equals(BuilderModel.getInstance(psiClass, null, psiAnnotation).getBuilderClassName());
   }
 
   @Override
   protected Collection<String> getNamesOfPossibleGeneratedElements(@NotNull PsiClass psiClass, @NotNull PsiAnnotation psiAnnotation) {
-    final String innerBuilderClassName = BuilderHandler.getBuilderClassName(psiClass, psiAnnotation, null);
+    final String innerBuilderClassName = BuilderModel.getInstance(psiClass, null, psiAnnotation).getBuilderClassName();
     return Collections.singleton(innerBuilderClassName);
   }
 
   @Override
   protected boolean validate(@NotNull PsiAnnotation psiAnnotation, @NotNull PsiClass psiClass, @NotNull ProblemSink builder) {
+    if (!builder.deepValidation()) {
+      return BuilderModel.getInstance(psiClass, null, psiAnnotation).isValid();
+    }
     return getBuilderHandler().validate(psiClass, psiAnnotation, builder);
   }
 
@@ -3,6 +3,7 @@ package de.plushnikov.intellij.plugin.processor.clazz.builder;
 import com.intellij.psi.*;
 import de.plushnikov.intellij.plugin.LombokClassNames;
 import de.plushnikov.intellij.plugin.processor.handler.BuilderInfo;
+import de.plushnikov.intellij.plugin.processor.handler.BuilderModel;
 import de.plushnikov.intellij.plugin.util.PsiClassUtil;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -28,7 +29,8 @@ public final class BuilderPreDefinedInnerClassFieldProcessor extends AbstractBui
       .map(PsiField::getName)
       .collect(Collectors.toSet());
 
-    final List<BuilderInfo> builderInfos = getBuilderHandler().createBuilderInfos(psiAnnotation, psiParentClass, psiParentMethod, psiBuilderClass);
+    final List<BuilderInfo> builderInfos =
+      BuilderModel.getInstance(psiParentClass, psiParentMethod, psiAnnotation).getBuilderInfos(psiBuilderClass);
     return builderInfos.stream()
       .filter(info -> info.notAlreadyExistingField(existedFieldNames))
       .map(BuilderInfo::renderBuilderFields)
@@ -5,6 +5,7 @@ import de.plushnikov.intellij.plugin.LombokClassNames;
 import de.plushnikov.intellij.plugin.processor.clazz.ToStringProcessor;
 import de.plushnikov.intellij.plugin.processor.handler.BuilderHandler;
 import de.plushnikov.intellij.plugin.processor.handler.BuilderInfo;
+import de.plushnikov.intellij.plugin.processor.handler.BuilderModel;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -27,8 +28,8 @@ public final class BuilderPreDefinedInnerClassMethodProcessor extends AbstractBu
                                                                  @NotNull PsiAnnotation psiAnnotation,
                                                                  @NotNull PsiClass psiBuilderClass) {
     BuilderHandler builderHandler = getBuilderHandler();
-    final List<BuilderInfo> builderInfos =
-      builderHandler.createBuilderInfos(psiAnnotation, psiParentClass, psiParentMethod, psiBuilderClass);
+    final BuilderModel builderModel = BuilderModel.getInstance(psiParentClass, psiParentMethod, psiAnnotation);
+    final List<BuilderInfo> builderInfos = builderModel.getBuilderInfos(psiBuilderClass);
 
     //create constructor
     final Collection<PsiMethod> result = new ArrayList<>(BuilderHandler.createConstructors(psiBuilderClass, psiAnnotation));
@@ -41,7 +42,7 @@ public final class BuilderPreDefinedInnerClassMethodProcessor extends AbstractBu
     }
 
     // create 'build' method
-    final String buildMethodName = BuilderHandler.getBuildMethodName(psiAnnotation);
+    final String buildMethodName = builderModel.getBuildMethodName();
     if (!BuilderHandler.matchMethodWithParams(existingMethodsWithParameters, buildMethodName, Collections.emptyList())) {
       result.add(
         builderHandler.createBuildMethod(psiAnnotation, psiParentClass, psiParentMethod, psiBuilderClass, buildMethodName, builderInfos));
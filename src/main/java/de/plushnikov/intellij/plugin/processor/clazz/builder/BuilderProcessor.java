@@ -9,6 +9,7 @@ import de.plushnikov.intellij.plugin.processor.LombokPsiElementUsage;
 import de.plushnikov.intellij.plugin.processor.clazz.AbstractClassProcessor;
 import de.plushnikov.intellij.plugin.processor.clazz.constructor.AllArgsConstructorProcessor;
 import de.plushnikov.intellij.plugin.processor.handler.BuilderHandler;
+import de.plushnikov.intellij.plugin.processor.handler.BuilderModel;
 import de.plushnikov.intellij.plugin.util.PsiAnnotationSearchUtil;
 import de.plushnikov.intellij.plugin.util.PsiClassUtil;
 import org.jetbrains.annotations.NotNull;
@@ -47,14 +48,12 @@ public final class BuilderProcessor extends AbstractClassProcessor {
                                                    @NotNull PsiAnnotation psiAnnotation) {
     return nameHint.equals(BuilderHandler.TO_BUILDER_METHOD_NAME) ||
            nameHint.equals(psiClass.getName()) ||
-           nameHint.equals(getBuilderHandler().getBuilderMethodName(psiAnnotation));
+           nameHint.equals(BuilderModel.getInstance(psiClass, null, psiAnnotation).getBuilderMethodName());
   }
 
   @Override
   protected Collection<String> getNamesOfPossibleGeneratedElements(@NotNull PsiClass psiClass, @NotNull PsiAnnotation psiAnnotation) {
-    final BuilderHandler builderHandler = getBuilderHandler();
-
-    final String builderMethodName = builderHandler.getBuilderMethodName(psiAnnotation);
+    final String builderMethodName = BuilderModel.getInstance(psiClass, null, psiAnnotation).getBuilderMethodName();
     final String constructorName = StringUtil.notNullize(psiClass.getName());
     return List.of(builderMethodName, BuilderHandler.TO_BUILDER_METHOD_NAME, constructorName);
   }
@@ -96,8 +95,10 @@ public final class BuilderProcessor extends AbstractClassProcessor {
     }
 
     final BuilderHandler builderHandler = getBuilderHandler();
-    final String builderClassName = BuilderHandler.getBuilderClassName(psiClass, psiAnnotation, null);
-    final PsiClass builderClass = psiClass.findInnerClassByName(builderClassName, false);
+    // same builder class as the one generated by BuilderClassProcessor
+    final BuilderModel builderModel = BuilderModel.getInstance(psiClass, null, psiAnnotation);
+    final PsiClass builderClass = builderModel.getExistingBuilderClass()
+      .orElseGet(() -> builderModel.isValid() ? builderModel.getBuilderClass() : null);
     if (null != builderClass) {
       target.addAll(
         builderHandler.createBuilderDefaultProviderMethodsIfNecessary(psiClass, null, builderClass, psiAnnotation));
@@ -8,14 +8,13 @@ import de.plushnikov.intellij.plugin.LombokClassNames;
 import de.plushnikov.intellij.plugin.problem.ProblemSink;
 import de.plushnikov.intellij.plugin.processor.clazz.AbstractClassProcessor;
 import de.plushnikov.intellij.plugin.processor.handler.SuperBuilderHandler;
-import de.plushnikov.intellij.plugin.util.PsiClassUtil;
+import de.plushnikov.intellij.plugin.processor.handler.SuperBuilderModel;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
-import java.util.Optional;
 
 /**
  * Inspect and validate @SuperBuilder lombok annotation on a class
@@ -58,6 +57,9 @@ public final class SuperBuilderClassProcessor extends AbstractClassProcessor {
 
   @Override
   protected boolean validate(@NotNull PsiAnnotation psiAnnotation, @NotNull PsiClass psiClass, @NotNull ProblemSink builder) {
+    if (!builder.deepValidation()) {
+      return SuperBuilderModel.getInstance(psiClass, psiAnnotation).isValid();
+    }
     return getBuilderHandler().validate(psiClass, psiAnnotation, builder);
   }
 
@@ -65,21 +67,15 @@ public final class SuperBuilderClassProcessor extends AbstractClassProcessor {
   protected void generatePsiElements(@NotNull PsiClass psiClass,
                                      @NotNull PsiAnnotation psiAnnotation,
                                      @NotNull List<? super PsiElement> target, @Nullable String nameHint) {
-    SuperBuilderHandler builderHandler = getBuilderHandler();
-    final String builderClassName = builderHandler.getBuilderClassName(psiClass);
-
-    Optional<PsiClass> builderClass = PsiClassUtil.getInnerClassInternByName(psiClass, builderClassName);
-    if (builderClass.isEmpty()) {
-      final PsiClass createdBuilderClass = builderHandler.createBuilderBaseClass(psiClass, psiAnnotation);
-      target.add(createdBuilderClass);
-      builderClass = Optional.of(createdBuilderClass);
+    final SuperBuilderModel builderModel = SuperBuilderModel.getInstance(psiClass, psiAnnotation);
+    if (builderModel.getExistingBuilderClass().isEmpty()) {
+      target.add(builderModel.getBuilderClass());
     }
 
     // skip generation of BuilderImpl class, if class is abstract
     if (!psiClass.hasModifierProperty(PsiModifier.ABSTRACT)) {
-      final String builderImplClassName = builderHandler.getBuilderImplClassName(psiClass);
-      if (PsiClassUtil.getInnerClassInternByName(psiClass, builderImplClassName).isEmpty()) {
-        target.add(builderHandler.createBuilderImplClass(psiClass, builderClass.get(), psiAnnotation));
+      if (builderModel.getExistingBuilderImplClass().isEmpty()) {
+        target.add(builderModel.getBuilderImplClass());
       }
     }
   }
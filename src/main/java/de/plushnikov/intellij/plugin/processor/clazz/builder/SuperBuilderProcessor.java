@@ -8,6 +8,7 @@ import de.plushnikov.intellij.plugin.processor.LombokPsiElementUsage;
 import de.plushnikov.intellij.plugin.processor.clazz.AbstractClassProcessor;
 import de.plushnikov.intellij.plugin.processor.handler.BuilderHandler;
 import de.plushnikov.intellij.plugin.processor.handler.SuperBuilderHandler;
+import de.plushnikov.intellij.plugin.processor.handler.SuperBuilderModel;
 import de.plushnikov.intellij.plugin.util.PsiAnnotationSearchUtil;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -75,18 +76,20 @@ public final class SuperBuilderProcessor extends AbstractClassProcessor {
   protected void generatePsiElements(@NotNull PsiClass psiClass, @NotNull PsiAnnotation psiAnnotation, @NotNull List<? super PsiElement> target,
                                      @Nullable String nameHint) {
     SuperBuilderHandler builderHandler = getBuilderHandler();
-    final String builderClassName = builderHandler.getBuilderClassName(psiClass);
-    final PsiClass builderBaseClass = psiClass.findInnerClassByName(builderClassName, false);
+    // same builder classes as the ones generated by SuperBuilderClassProcessor
+    final SuperBuilderModel builderModel = SuperBuilderModel.getInstance(psiClass, psiAnnotation);
+    final PsiClass builderBaseClass = builderModel.getExistingBuilderClass()
+      .orElseGet(() -> builderModel.isValid() ? builderModel.getBuilderClass() : null);
     if (null != builderBaseClass) {
-      final PsiClassType psiTypeBaseWithGenerics = SuperBuilderHandler.getTypeWithWildcardsForSuperBuilderTypeParameters(builderBaseClass);
+      final PsiClassType psiTypeBaseWithGenerics = builderModel.getBuilderTypeWithWildcards();
 
       builderHandler.createBuilderBasedConstructor(psiClass, builderBaseClass, psiAnnotation, psiTypeBaseWithGenerics)
         .ifPresent(target::add);
 
       // skip generation of builder methods, if class is abstract
       if (!psiClass.hasModifierProperty(PsiModifier.ABSTRACT)) {
-        final String builderImplClassName = builderHandler.getBuilderImplClassName(psiClass);
-        final PsiClass builderImplClass = psiClass.findInnerClassByName(builderImplClassName, false);
+        final PsiClass builderImplClass = builderModel.getExistingBuilderImplClass()
+          .orElseGet(() -> builderModel.isValid() ? builderModel.getBuilderImplClass() : null);
 
         if (null != builderImplClass) {
           builderHandler.createBuilderMethodIfNecessary(psiClass, builderBaseClass, builderImplClass, psiAnnotation, psiTypeBaseWithGenerics)
@@ -24,6 +24,13 @@ public final class FieldNameConstantsPredefinedInnerClassFieldProcessor extends
     super(PsiField.class, LombokClassNames.FIELD_NAME_CONSTANTS);
   }
 
+  @Nullable
+  @Override
+  public Collection<String> getNamesOfPossibleGeneratedElements(@NotNull PsiClass psiClass) {
+    // annotation is placed on the parent class, so names can't be predicted from this class alone
+    return null;
+  }
+
   @NotNull
   @Override
   public List<? super PsiElement> process(@NotNull PsiClass psiClass, @Nullable String nameHint) {
@@ -18,10 +18,7 @@ import de.plushnikov.intellij.plugin.util.PsiClassUtil;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.ArrayList;
-import java.util.Collection;
-import java.util.Collections;
-import java.util.List;
+import java.util.*;
 
 /**
  * Base lombok processor class for field annotations
@@ -73,6 +70,25 @@ public abstract class AbstractFieldProcessor extends AbstractProcessor implement
                                                                             @NotNull PsiAnnotation psiAnnotation,
                                                                             @NotNull PsiField psiField);
 
+  @Nullable
+  @Override
+  public Collection<String> getNamesOfPossibleGeneratedElements(@NotNull PsiClass psiClass) {
+    Collection<String> result = new HashSet<>();
+    Collection<PsiField> fields = psiClass.isRecord() ? RecordAugmentProvider.getFieldAugments(psiClass)
+                                                      : PsiClassUtil.collectClassFieldsIntern(psiClass);
+    for (PsiField psiField : fields) {
+      PsiAnnotation psiAnnotation = PsiAnnotationSearchUtil.findAnnotation(psiField, getSupportedAnnotationClasses());
+      if (null != psiAnnotation) {
+        final Collection<String> namesOfGeneratedElements = getNamesOfPossibleGeneratedElements(psiClass, psiAnnotation, psiField);
+        if (namesOfGeneratedElements.isEmpty()) {
+          return null;
+        }
+        result.addAll(namesOfGeneratedElements);
+      }
+    }
+    return result;
+  }
+
   protected abstract void generatePsiElements(@NotNull PsiField psiField,
                                               @NotNull PsiAnnotation psiAnnotation,
                                               @NotNull List<? super PsiElement> target,
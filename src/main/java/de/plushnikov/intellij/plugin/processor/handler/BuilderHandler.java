@@ -299,8 +299,7 @@ public class BuilderHandler {
   }
 
   private static boolean validateObtainViaAnnotations(Stream<BuilderInfo> builderInfos, @NotNull ProblemSink problemSink) {
-    builderInfos.map(BuilderInfo::withObtainVia)
-      .filter(BuilderInfo::hasObtainViaAnnotation)
+    builderInfos.filter(BuilderInfo::hasObtainViaAnnotation)
       .forEach(builderInfo ->
                {
                  if (StringUtil.isEmpty(builderInfo.getViaFieldName()) == StringUtil.isEmpty(builderInfo.getViaMethodName())) {
@@ -475,8 +474,8 @@ public class BuilderHandler {
       return Optional.empty();
     }
 
-    final List<BuilderInfo> builderInfos = createBuilderInfos(psiAnnotation, containingClass, psiMethod, builderPsiClass);
-    builderInfos.forEach(BuilderInfo::withObtainVia);
+    final List<BuilderInfo> builderInfos =
+      BuilderModel.getInstance(containingClass, psiMethod, psiAnnotation).getBuilderInfos(builderPsiClass);
 
     final PsiType psiTypeWithGenerics;
     if (null != psiMethod) {
@@ -551,7 +550,8 @@ public class BuilderHandler {
       result = PsiClassUtil.collectClassFieldsIntern(psiClass).stream().map(BuilderInfo::fromPsiField)
         .filter(BuilderInfo::useForBuilder);
     }
-    return result;
+    // every info is an own copy here, so it can be completed before it gets shared by the builder models
+    return result.map(BuilderInfo::withObtainVia);
   }
 
   public List<BuilderInfo> createBuilderInfos(@NotNull PsiAnnotation psiAnnotation, @NotNull PsiClass psiClass,
@@ -585,7 +585,7 @@ public class BuilderHandler {
     }
 
     builderClass.withFieldSupplier((thisPsiClass) -> {
-      final List<BuilderInfo> builderInfos = createBuilderInfos(psiAnnotation, psiClass, psiMethod, thisPsiClass);
+      final List<BuilderInfo> builderInfos = BuilderModel.getInstance(psiClass, psiMethod, psiAnnotation).getBuilderInfos(thisPsiClass);
       // create builder Fields
       return builderInfos.stream()
         .map(BuilderInfo::renderBuilderFields)
@@ -596,15 +596,15 @@ public class BuilderHandler {
     builderClass.withMethodSupplier((thisPsiClass) -> {
       Collection<PsiMethod> psiMethods = new ArrayList<>(createConstructors(thisPsiClass, psiAnnotation));
 
-      final List<BuilderInfo> builderInfos = createBuilderInfos(psiAnnotation, psiClass, psiMethod, thisPsiClass);
+      final BuilderModel builderModel = BuilderModel.getInstance(psiClass, psiMethod, psiAnnotation);
+      final List<BuilderInfo> builderInfos = builderModel.getBuilderInfos(thisPsiClass);
       // create builder methods
       for (BuilderInfo info : builderInfos) {
         psiMethods.addAll(info.renderBuilderMethods(Collections.emptyMap()));
       }
 
       // create 'build' method
-      final String buildMethodName = getBuildMethodName(psiAnnotation);
-      psiMethods.add(createBuildMethod(psiAnnotation, psiClass, psiMethod, thisPsiClass, buildMethodName, builderInfos));
+      psiMethods.add(createBuildMethod(psiAnnotation, psiClass, psiMethod, thisPsiClass, builderModel.getBuildMethodName(), builderInfos));
 
       // create 'toString' method
       psiMethods.add(createToStringMethod(psiAnnotation, thisPsiClass));
@@ -675,9 +675,10 @@ public class BuilderHandler {
   public Optional<PsiClass> createBuilderClassIfNotExist(@NotNull PsiClass psiClass,
                                                          @Nullable PsiMethod psiMethod,
                                                          @NotNull PsiAnnotation psiAnnotation) {
+    final BuilderModel builderModel = BuilderModel.getInstance(psiClass, psiMethod, psiAnnotation);
     PsiClass builderClass = null;
-    if (getExistInnerBuilderClass(psiClass, psiMethod, psiAnnotation).isEmpty()) {
-      builderClass = createBuilderClass(psiClass, psiMethod, psiAnnotation);
+    if (builderModel.getExistingBuilderClass().isEmpty()) {
+      builderClass = builderModel.getBuilderClass();
     }
     return Optional.ofNullable(builderClass);
   }
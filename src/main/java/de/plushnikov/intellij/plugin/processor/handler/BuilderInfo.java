@@ -1,11 +1,15 @@
 package de.plushnikov.intellij.plugin.processor.handler;
 
 import com.intellij.openapi.project.Project;
+import com.intellij.openapi.roots.ProjectRootManager;
 import com.intellij.openapi.util.text.StringUtil;
 import com.intellij.psi.*;
 import com.intellij.psi.impl.PsiImplUtil;
 import com.intellij.psi.impl.source.PsiClassReferenceType;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
 import de.plushnikov.intellij.plugin.LombokClassNames;
+import de.plushnikov.intellij.plugin.lombokconfig.LombokConfigChangeListener;
 import de.plushnikov.intellij.plugin.lombokconfig.LombokNullAnnotationLibrary;
 import de.plushnikov.intellij.plugin.lombokconfig.LombokNullAnnotationLibraryDefned;
 import de.plushnikov.intellij.plugin.processor.field.AccessorsInfo;
@@ -13,6 +17,8 @@ import de.plushnikov.intellij.plugin.processor.handler.singular.BuilderElementHa
 import de.plushnikov.intellij.plugin.processor.handler.singular.SingularHandlerFactory;
 import de.plushnikov.intellij.plugin.thirdparty.CapitalizationStrategy;
 import de.plushnikov.intellij.plugin.thirdparty.LombokUtils;
+import de.plushnikov.intellij.plugin.util.ElementModificationTracker;
+import de.plushnikov.intellij.plugin.util.JavaStructureModificationTracker;
 import de.plushnikov.intellij.plugin.util.PsiAnnotationSearchUtil;
 import de.plushnikov.intellij.plugin.util.PsiAnnotationUtil;
 import de.plushnikov.intellij.plugin.util.PsiClassUtil;
@@ -54,7 +60,44 @@ public class BuilderInfo {
 
   private LombokNullAnnotationLibrary nullAnnotationLibrary;
 
+  /**
+   * Data of the variable itself is cached per variable, so it is not collected again for every unchanged field,
+   * if some other part of the class (or project) changes. Every caller gets its own copy to customize it further.
+   */
   private static BuilderInfo fromPsiElement(@NotNull PsiVariable psiVariable) {
+    return CachedValuesManager.getCachedValue(psiVariable, () -> CachedValueProvider.Result.create(
+      createFromPsiElement(psiVariable), getDependencies(psiVariable))).copy();
+  }
+
+  private static Object @NotNull [] getDependencies(@NotNull PsiVariable psiVariable) {
+    final List<Object> dependencies = new ArrayList<>();
+    // only the variable itself is tracked, other members of the same class don't influence its data
+    dependencies.add(ElementModificationTracker.forElement(psiVariable));
+
+    final PsiFile psiFile = psiVariable.getContainingFile();
+    dependencies.add(
+      LombokConfigChangeListener.getConfigChangeTracker(null == psiFile ? null : psiFile.getOriginalFile().getVirtualFile()));
+
+    if (psiVariable instanceof PsiField psiField) {
+      // @Accessors of the containing classes are used for the name of the field in the builder
+      for (PsiClass psiClass = psiField.getContainingClass(); null != psiClass; psiClass = psiClass.getContainingClass()) {
+        final PsiModifierList modifierList = psiClass.getModifierList();
+        if (null != modifierList) {
+          dependencies.add(ElementModificationTracker.forElement(modifierList));
+        }
+      }
+    }
+
+    if (psiVariable.hasAnnotation(LombokClassNames.SINGULAR)) {
+      // singular handler depends on resolved type of the variable
+      final Project project = psiVariable.getProject();
+      dependencies.add(JavaStructureModificationTracker.getInstance(project));
+      dependencies.add(ProjectRootManager.getInstance(project));
+    }
+    return dependencies.toArray();
+  }
+
+  private static BuilderInfo createFromPsiElement(@NotNull PsiVariable psiVariable) {
     final BuilderInfo result = new BuilderInfo();
     result.variableInClass = psiVariable;
     result.fieldInBuilderName = psiVariable.getName();
@@ -80,7 +123,12 @@ public class BuilderInfo {
   }
 
   public static BuilderInfo fromPsiField(@NotNull PsiField psiField) {
-    final BuilderInfo result = fromPsiElement(psiField);
+    return CachedValuesManager.getCachedValue(psiField, () -> CachedValueProvider.Result.create(
+      createFromPsiField(psiField), getDependencies(psiField))).copy();
+  }
+
+  private static BuilderInfo createFromPsiField(@NotNull PsiField psiField) {
+    final BuilderInfo result = createFromPsiElement(psiField);
 
     final AccessorsInfo accessorsInfo = AccessorsInfo.buildFor(psiField);
     result.fieldInBuilderName = accessorsInfo.removePrefix(psiField.getName());
@@ -89,6 +137,32 @@ public class BuilderInfo {
     return result;
   }
 
+  @NotNull
+  private BuilderInfo copy() {
+    final BuilderInfo result = new BuilderInfo();
+    result.variableInClass = variableInClass;
+    result.fieldInBuilderType = fieldInBuilderType;
+    result.deprecated = deprecated;
+    result.visibilityModifier = visibilityModifier;
+    result.setterPrefix = setterPrefix;
+    result.builderChainResult = builderChainResult;
+    result.builderClass = builderClass;
+    result.builderClassType = builderClassType;
+    result.fieldInBuilderName = fieldInBuilderName;
+    result.fieldInitializer = fieldInitializer;
+    result.hasBuilderDefaultAnnotation = hasBuilderDefaultAnnotation;
+    result.singularAnnotation = singularAnnotation;
+    result.builderElementHandler = builderElementHandler;
+    result.obtainViaAnnotation = obtainViaAnnotation;
+    result.viaFieldName = viaFieldName;
+    result.viaMethodName = viaMethodName;
+    result.viaStaticCall = viaStaticCall;
+    result.instanceVariableName = instanceVariableName;
+    result.capitalizationStrategy = capitalizationStrategy;
+    result.nullAnnotationLibrary = nullAnnotationLibrary;
+    return result;
+  }
+
   public BuilderInfo withSubstitutor(@NotNull PsiSubstitutor builderSubstitutor) {
     fieldInBuilderType = builderSubstitutor.substitute(fieldInBuilderType);
     return this;
@@ -0,0 +1,153 @@
+package de.plushnikov.intellij.plugin.processor.handler;
+
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.roots.ProjectRootManager;
+import com.intellij.openapi.util.ModificationTracker;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiAnnotation;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiMethod;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import de.plushnikov.intellij.plugin.lombokconfig.LombokConfigChangeListener;
+import de.plushnikov.intellij.plugin.problem.ProblemProcessingSink;
+import de.plushnikov.intellij.plugin.util.JavaStructureModificationTracker;
+import de.plushnikov.intellij.plugin.util.PsiClassUtil;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static de.plushnikov.intellij.plugin.util.RecursionSafeCacheUtil.getOrCompute;
+
+/**
+ * Analysis of one @Builder annotation shared by all builder processors: validation result, names of generated elements,
+ * the builder class and its {@link BuilderInfo}s. It is cached per annotation, so the annotation is analysed once
+ * and not again by every processor. The model depends on the java structure of the project, on the project roots
+ * and on the lombok.config files of the class, but not on changes inside of code blocks.
+ */
+public final class BuilderModel {
+  private final PsiClass myPsiClass;
+  private final PsiMethod myPsiMethod;
+  private final PsiAnnotation myPsiAnnotation;
+
+  private final String myBuilderClassName;
+  private final String myBuildMethodName;
+  private final String myBuilderMethodName;
+
+  private final AtomicReference<Boolean> myValid = new AtomicReference<>();
+  private final AtomicReference<Optional<PsiClass>> myExistingBuilderClass = new AtomicReference<>();
+  private final AtomicReference<PsiClass> myBuilderClass = new AtomicReference<>();
+  private final AtomicReference<List<BuilderInfo>> myBuilderInfos = new AtomicReference<>();
+
+  private BuilderModel(@NotNull PsiClass psiClass, @Nullable PsiMethod psiMethod, @NotNull PsiAnnotation psiAnnotation) {
+    myPsiClass = psiClass;
+    myPsiMethod = psiMethod;
+    myPsiAnnotation = psiAnnotation;
+
+    myBuilderClassName = BuilderHandler.getBuilderClassName(psiClass, psiAnnotation, psiMethod);
+    myBuildMethodName = BuilderHandler.getBuildMethodName(psiAnnotation);
+    myBuilderMethodName = getHandler().getBuilderMethodName(psiAnnotation);
+  }
+
+  /**
+   * Returns model of the builder annotation
+   *
+   * @param psiClass      class containing the annotated element
+   * @param psiMethod     annotated method, or null if the annotation is placed on the class
+   * @param psiAnnotation the @Builder annotation
+   */
+  @NotNull
+  public static BuilderModel getInstance(@NotNull PsiClass psiClass, @Nullable PsiMethod psiMethod, @NotNull PsiAnnotation psiAnnotation) {
+    return CachedValuesManager.getCachedValue(psiAnnotation, () -> CachedValueProvider.Result.create(
+      new BuilderModel(psiClass, psiMethod, psiAnnotation), getDependencies(psiAnnotation)));
+  }
+
+  private static Object @NotNull [] getDependencies(@NotNull PsiAnnotation psiAnnotation) {
+    final Project project = psiAnnotation.getProject();
+    final ModificationTracker structureTracker = JavaStructureModificationTracker.getInstance(project);
+    final ModificationTracker configTracker = LombokConfigChangeListener.getConfigChangeTracker(getVirtualFile(psiAnnotation));
+    if (psiAnnotation.isPhysical()) {
+      return new Object[]{structureTracker, ProjectRootManager.getInstance(project), configTracker};
+    }
+    // changes of non-physical copies (e.g. completion) are not tracked by the java structure tracker
+    return new Object[]{psiAnnotation, structureTracker, ProjectRootManager.getInstance(project), configTracker};
+  }
+
+  @Nullable
+  private static VirtualFile getVirtualFile(@NotNull PsiAnnotation psiAnnotation) {
+    final PsiFile psiFile = psiAnnotation.getContainingFile();
+    return null == psiFile ? null : psiFile.getOriginalFile().getVirtualFile();
+  }
+
+  @NotNull
+  private static BuilderHandler getHandler() {
+    return new BuilderHandler();
+  }
+
+  @NotNull
+  public String getBuilderClassName() {
+    return myBuilderClassName;
+  }
+
+  @NotNull
+  public String getBuildMethodName() {
+    return myBuildMethodName;
+  }
+
+  @NotNull
+  public String getBuilderMethodName() {
+    return myBuilderMethodName;
+  }
+
+  /**
+   * Result of the validation of the annotation without reporting of any problems
+   */
+  public boolean isValid() {
+    return getOrCompute(myValid, () -> {
+      final ProblemProcessingSink problemSink = new ProblemProcessingSink();
+      if (null == myPsiMethod) {
+        return getHandler().validate(myPsiClass, myPsiAnnotation, problemSink);
+      }
+      return getHandler().validate(myPsiMethod, myPsiAnnotation, problemSink);
+    });
+  }
+
+  /**
+   * Returns builder class declared in the source code by the user
+   */
+  @NotNull
+  public Optional<PsiClass> getExistingBuilderClass() {
+    return getOrCompute(myExistingBuilderClass, () -> PsiClassUtil.getInnerClassInternByName(myPsiClass, myBuilderClassName));
+  }
+
+  /**
+   * Returns declared builder class or the generated one, if there is no declared builder class
+   */
+  @NotNull
+  public PsiClass getBuilderClass() {
+    return getOrCompute(myBuilderClass, () -> getExistingBuilderClass()
+      .orElseGet(() -> getHandler().createBuilderClass(myPsiClass, myPsiMethod, myPsiAnnotation)));
+  }
+
+  /**
+   * Returns infos of all builder elements for the given builder class, they are shared for the builder class of this model
+   * and must not be modified by the callers
+   */
+  @NotNull
+  public List<BuilderInfo> getBuilderInfos(@NotNull PsiClass builderClass) {
+    if (builderClass == myBuilderClass.get() || builderClass == getExistingBuilderClass().orElse(null)) {
+      return getOrCompute(myBuilderInfos, () -> Collections.unmodifiableList(createBuilderInfos(builderClass)));
+    }
+    return createBuilderInfos(builderClass);
+  }
+
+  @NotNull
+  private List<BuilderInfo> createBuilderInfos(@NotNull PsiClass builderClass) {
+    return getHandler().createBuilderInfos(myPsiAnnotation, myPsiClass, myPsiMethod, builderClass);
+  }
+}
@@ -2,22 +2,33 @@ package de.plushnikov.intellij.plugin.processor.handler;
 
 import com.intellij.codeInsight.daemon.impl.quickfix.DeleteElementFix;
 import com.intellij.codeInspection.LocalQuickFix;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.roots.ProjectRootManager;
 import com.intellij.openapi.util.Pair;
 import com.intellij.psi.*;
 import com.intellij.psi.impl.light.LightTypeParameterBuilder;
 import com.intellij.psi.impl.source.PsiExtensibleClass;
+import com.intellij.psi.search.GlobalSearchScope;
 import com.intellij.psi.util.*;
 import com.intellij.util.containers.ContainerUtil;
 import de.plushnikov.intellij.plugin.LombokClassNames;
 import de.plushnikov.intellij.plugin.problem.ProblemSink;
 import de.plushnikov.intellij.plugin.psi.LombokDelegateMethod;
 import de.plushnikov.intellij.plugin.psi.LombokLightMethodBuilder;
+import de.plushnikov.intellij.plugin.util.JavaStructureModificationTracker;
 import de.plushnikov.intellij.plugin.util.PsiAnnotationSearchUtil;
 import de.plushnikov.intellij.plugin.util.PsiAnnotationUtil;
 import de.plushnikov.intellij.plugin.util.PsiElementUtil;
+import de.plushnikov.intellij.plugin.util.PsiTypeUtil;
+import de.plushnikov.intellij.plugin.util.RecursionSafeCacheUtil;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 /**
@@ -41,7 +52,7 @@ public final class DelegateHandler {
 
     final Collection<PsiType> types = collectDelegateTypes(psiAnnotation, delegateTargetType);
     result &= validateTypes(types, problemSink);
-    result &= validateTypesMethodsExistsInDelegateTargetType(types, delegateTargetType, problemSink);
+    result &= validateTypesMethodsExistsInDelegateTargetType(types, delegateTargetType, psiModifierListOwner.getResolveScope(), problemSink);
 
     final Collection<PsiType> excludes = collectExcludeTypes(psiAnnotation);
     result &= validateTypes(excludes, problemSink);
@@ -51,6 +62,7 @@ public final class DelegateHandler {
 
   private static boolean validateTypesMethodsExistsInDelegateTargetType(@NotNull Collection<PsiType> types,
                                                                         @NotNull PsiType delegateTargetType,
+                                                                        @NotNull GlobalSearchScope resolveScope,
                                                                         @NotNull ProblemSink sink) {
     boolean result = true;
 
@@ -58,13 +70,8 @@ public final class DelegateHandler {
     typesToCheck.remove(delegateTargetType);
 
     if (!typesToCheck.isEmpty()) {
-      final PsiClassType.ClassResolveResult resolveResult = PsiUtil.resolveGenericsClassInType(delegateTargetType);
-      final PsiClass psiDelegateTargetClass = resolveResult.getElement();
-      if (null != psiDelegateTargetClass) {
-        final Collection<MethodSignatureBackedByPsiMethod> delegateTargetSignatures =
-          ContainerUtil.map(psiDelegateTargetClass.getVisibleSignatures(),
-                            signature -> MethodSignatureBackedByPsiMethod.create(signature.getMethod(), resolveResult.getSubstitutor()));
-
+      final Collection<MethodSignatureBackedByPsiMethod> delegateTargetSignatures = getDelegateTargetSignatures(delegateTargetType, resolveScope);
+      if (null != delegateTargetSignatures) {
         for (PsiType psiType : typesToCheck) {
           final PsiClass psiClass = PsiUtil.resolveClassInClassTypeOnly(psiType);
           if (null != psiClass) {
@@ -87,6 +94,22 @@ public final class DelegateHandler {
     return result;
   }
 
+  @Nullable
+  private static Collection<MethodSignatureBackedByPsiMethod> getDelegateTargetSignatures(@NotNull PsiType delegateTargetType,
+                                                                                         @NotNull GlobalSearchScope resolveScope) {
+    final PsiClassType.ClassResolveResult resolveResult = PsiUtil.resolveGenericsClassInType(delegateTargetType);
+    final PsiClass psiDelegateTargetClass = resolveResult.getElement();
+    if (null == psiDelegateTargetClass) {
+      return null;
+    }
+    final DelegateTypesKey cacheKey = DelegateTypesKey.create(Collections.singletonList(delegateTargetType), Collections.emptyList(),
+                                                              resolveScope);
+    return getCached(psiDelegateTargetClass.getProject(), DelegateCaches::signatures, cacheKey,
+                     () -> ContainerUtil.map(psiDelegateTargetClass.getVisibleSignatures(),
+                                             signature -> MethodSignatureBackedByPsiMethod.create(signature.getMethod(),
+                                                                                                  resolveResult.getSubstitutor())));
+  }
+
   private static Collection<PsiType> collectDelegateTypes(PsiAnnotation psiAnnotation, PsiType psiType) {
     Collection<PsiType> types = PsiAnnotationUtil.getAnnotationValues(psiAnnotation, TYPES_PARAMETER, PsiType.class);
     if (types.isEmpty()) {
@@ -141,26 +164,87 @@ public final class DelegateHandler {
     }
 
     final Collection<PsiType> includes = collectDelegateTypes(psiAnnotation, delegateTargetType);
+    final Collection<PsiType> excludes = collectExcludeTypes(psiAnnotation);
+
+    final DelegateTypesKey cacheKey = DelegateTypesKey.create(includes, excludes, psiElement.getResolveScope());
+    final Collection<Pair<PsiMethod, PsiSubstitutor>> delegateMethods =
+      getCached(psiElement.getProject(), DelegateCaches::methods, cacheKey, () -> collectDelegateMethods(includes, excludes));
+
+    // Exclude all already implemented methods (includes methods from java.lang.Object too)
+    final Collection<Pair<PsiMethod, PsiSubstitutor>> ownMethods = new ArrayList<>();
+    collectAllOwnMethods(containingPsiClass, ownMethods);
+
+    final Collection<Pair<PsiMethod, PsiSubstitutor>> methodsToDelegate = findMethodsToDelegate(delegateMethods, ownMethods);
+    for (Pair<PsiMethod, PsiSubstitutor> pair : methodsToDelegate) {
+      target.add(generateDelegateMethod(containingPsiClass, psiElement, psiAnnotation, pair.getFirst(), pair.getSecond()));
+    }
+  }
 
+  /**
+   * Returns methods of the included types, which are not declared in any of the excluded types
+   */
+  @NotNull
+  private static Collection<Pair<PsiMethod, PsiSubstitutor>> collectDelegateMethods(@NotNull Collection<PsiType> includes,
+                                                                                    @NotNull Collection<PsiType> excludes) {
     final Collection<Pair<PsiMethod, PsiSubstitutor>> includesMethods = new ArrayList<>();
     for (PsiType psiType : includes) {
       addMethodsOfType(psiType, includesMethods);
     }
 
-    final Collection<PsiType> excludes = collectExcludeTypes(psiAnnotation);
-
     final Collection<Pair<PsiMethod, PsiSubstitutor>> excludeMethods = new ArrayList<>();
     for (PsiType psiType : excludes) {
       addMethodsOfType(psiType, excludeMethods);
     }
 
-    // Add all already implemented methods to exclude list (includes methods from java.lang.Object too)
-    collectAllOwnMethods(containingPsiClass, excludeMethods);
+    return findMethodsToDelegate(includesMethods, excludeMethods);
+  }
 
-    final Collection<Pair<PsiMethod, PsiSubstitutor>> methodsToDelegate = findMethodsToDelegate(includesMethods, excludeMethods);
-    for (Pair<PsiMethod, PsiSubstitutor> pair : methodsToDelegate) {
-      target.add(generateDelegateMethod(containingPsiClass, psiElement, psiAnnotation, pair.getFirst(), pair.getSecond()));
+  /**
+   * Returns value computed for the given types from the project wide cache. Delegation to common types like List or Map
+   * is this way computed only once per change of java structure. Types depending on the context of the annotated element
+   * (type parameters, local classes, unresolved types) have no cache key and are computed every time.
+   */
+  private static <T> T getCached(@NotNull Project project,
+                                 @NotNull Function<DelegateCaches, ConcurrentMap<DelegateTypesKey, T>> cacheSelector,
+                                 @Nullable DelegateTypesKey cacheKey,
+                                 @NotNull Supplier<T> computation) {
+    if (null == cacheKey) {
+      return computation.get();
     }
+    final DelegateCaches caches = CachedValuesManager.getManager(project).getCachedValue(project, () ->
+      CachedValueProvider.Result.create(new DelegateCaches(new ConcurrentHashMap<>(), new ConcurrentHashMap<>()),
+                                        JavaStructureModificationTracker.getInstance(project),
+                                        ProjectRootManager.getInstance(project)));
+    return RecursionSafeCacheUtil.getOrCompute(cacheSelector.apply(caches), cacheKey, computation);
+  }
+
+  /**
+   * Included and excluded types of one delegation, identified by their canonical text
+   */
+  private record DelegateTypesKey(@NotNull GlobalSearchScope resolveScope,
+                                  @NotNull List<String> includes,
+                                  @NotNull List<String> excludes) {
+
+    /**
+     * Returns null if some of the types is not context-free, such delegation can't be cached
+     */
+    @Nullable
+    static DelegateTypesKey create(@NotNull Collection<PsiType> includes,
+                                   @NotNull Collection<PsiType> excludes,
+                                   @NotNull GlobalSearchScope resolveScope) {
+      if (!ContainerUtil.and(includes, PsiTypeUtil::isContextFreeType) || !ContainerUtil.and(excludes, PsiTypeUtil::isContextFreeType)) {
+        return null;
+      }
+      return new DelegateTypesKey(resolveScope, ContainerUtil.map(includes, PsiType::getCanonicalText),
+                                  ContainerUtil.map(excludes, PsiType::getCanonicalText));
+    }
+  }
+
+  /**
+   * Visible signatures of delegate targets used by the validation and methods to delegate used by the generation
+   */
+  private record DelegateCaches(@NotNull ConcurrentMap<DelegateTypesKey, Collection<MethodSignatureBackedByPsiMethod>> signatures,
+                                @NotNull ConcurrentMap<DelegateTypesKey, Collection<Pair<PsiMethod, PsiSubstitutor>>> methods) {
   }
 
   private static void addMethodsOfType(PsiType psiType, Collection<Pair<PsiMethod, PsiSubstitutor>> results) {
@@ -2,15 +2,20 @@ package de.plushnikov.intellij.plugin.processor.handler;
 
 import com.intellij.openapi.util.text.StringUtil;
 import com.intellij.psi.*;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
 import de.plushnikov.intellij.plugin.LombokClassNames;
 import de.plushnikov.intellij.plugin.lombokconfig.ConfigDiscovery;
 import de.plushnikov.intellij.plugin.lombokconfig.ConfigKey;
+import de.plushnikov.intellij.plugin.lombokconfig.LombokConfigChangeListener;
 import de.plushnikov.intellij.plugin.thirdparty.LombokUtils;
 import de.plushnikov.intellij.plugin.util.*;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 public final class EqualsAndHashCodeToStringHandler {
 
@@ -87,11 +92,47 @@ public final class EqualsAndHashCodeToStringHandler {
     }
   }
 
+  /**
+   * Returns members of the class selected by the annotation. The selection is cached per class and is shared between
+   * all processors generating methods for the same annotation, e.g. equals, hashCode, canEqual and toString of @Data.
+   * It is computed again after modification of the class or of a lombok.config file.
+   */
   public static Collection<MemberInfo> filterMembers(@NotNull PsiClass psiClass, @NotNull PsiAnnotation psiAnnotation,
                                                      boolean filterTransient, String includeAnnotationProperty,
                                                      @Nullable ConfigKey onlyExplicitlyIncludedConfigKey,
                                                      @NotNull String annotationIncludeFQN,
                                                      @NotNull String annotationExcludeFQN) {
+    final MemberSelectionKey selectionKey = new MemberSelectionKey(psiAnnotation, filterTransient, includeAnnotationProperty,
+                                                                   onlyExplicitlyIncludedConfigKey, annotationIncludeFQN,
+                                                                   annotationExcludeFQN);
+    return RecursionSafeCacheUtil.getOrCompute(getMemberSelections(psiClass), selectionKey, () -> Collections.unmodifiableList(
+      computeMembers(psiClass, psiAnnotation, filterTransient, includeAnnotationProperty, onlyExplicitlyIncludedConfigKey,
+                     annotationIncludeFQN, annotationExcludeFQN)));
+  }
+
+  /**
+   * Arguments of {@link #filterMembers} selecting the members of one class
+   */
+  private record MemberSelectionKey(@NotNull PsiAnnotation psiAnnotation, boolean filterTransient, String includeAnnotationProperty,
+                                    @Nullable ConfigKey onlyExplicitlyIncludedConfigKey, @NotNull String annotationIncludeFQN,
+                                    @NotNull String annotationExcludeFQN) {
+  }
+
+  @NotNull
+  private static ConcurrentMap<MemberSelectionKey, List<MemberInfo>> getMemberSelections(@NotNull PsiClass psiClass) {
+    return CachedValuesManager.getCachedValue(psiClass, () -> {
+      final PsiFile psiFile = psiClass.getContainingFile();
+      return CachedValueProvider.Result.create(new ConcurrentHashMap<>(), psiClass, LombokConfigChangeListener.getConfigChangeTracker(
+        null == psiFile ? null : psiFile.getOriginalFile().getVirtualFile()));
+    });
+  }
+
+  @NotNull
+  private static List<MemberInfo> computeMembers(@NotNull PsiClass psiClass, @NotNull PsiAnnotation psiAnnotation,
+                                                 boolean filterTransient, String includeAnnotationProperty,
+                                                 @Nullable ConfigKey onlyExplicitlyIncludedConfigKey,
+                                                 @NotNull String annotationIncludeFQN,
+                                                 @NotNull String annotationExcludeFQN) {
     final boolean explicitOf = PsiAnnotationUtil.hasDeclaredProperty(psiAnnotation, "of");
     final boolean onlyExplicitlyIncluded = checkOnlyExplicitlyIncluded(psiClass, psiAnnotation, onlyExplicitlyIncludedConfigKey);
 
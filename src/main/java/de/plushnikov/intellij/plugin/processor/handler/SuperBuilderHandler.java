@@ -119,7 +119,7 @@ public class SuperBuilderHandler extends BuilderHandler {
       .withModifier(PsiModifier.PROTECTED)
       .withParameter(BUILDER_VARIABLE_NAME, psiTypeBaseWithGenerics);
 
-    final List<BuilderInfo> builderInfos = createBuilderInfos(psiClass, psiAnnotation, builderClass);
+    final List<BuilderInfo> builderInfos = SuperBuilderModel.getInstance(psiClass, psiAnnotation).getBuilderInfos(builderClass);
     //dont need initBuilderInfosBuilderClassType here
 
     final String buildMethodPrepare = builderInfos.stream()
@@ -235,7 +235,11 @@ public class SuperBuilderHandler extends BuilderHandler {
 
     final PsiClass superClass = psiClass.getSuperClass();
     if (null != superClass && !"Object".equals(superClass.getName())) {
-      final PsiClass parentBuilderClass = superClass.findInnerClassByName(getBuilderClassName(superClass), false);
+      // reuse builder class of the super class, if it is known from its own model
+      final SuperBuilderModel superClassModel = SuperBuilderModel.getSuperClassModel(superClass);
+      final PsiClass parentBuilderClass = null != superClassModel && superClassModel.isValid()
+                                          ? superClassModel.getBuilderClass()
+                                          : superClass.findInnerClassByName(getBuilderClassName(superClass), false);
       if (null != parentBuilderClass) {
         final PsiType[] explicitTypes = Stream.concat(
             Stream.of(psiClass.getExtendsListTypes()).map(PsiClassType::getParameters).flatMap(Stream::of),
@@ -248,8 +252,7 @@ public class SuperBuilderHandler extends BuilderHandler {
     }
 
     baseClassBuilder.withFieldSupplier((thisPsiClass) -> {
-      final List<BuilderInfo> builderInfos = createBuilderInfos(psiClass, psiAnnotation, thisPsiClass);
-      initBuilderInfosBuilderClassType(builderInfos, bType);
+      final List<BuilderInfo> builderInfos = SuperBuilderModel.getInstance(psiClass, psiAnnotation).getBuilderInfos(thisPsiClass);
 
       // create builder Fields
       return builderInfos.stream()
@@ -259,8 +262,7 @@ public class SuperBuilderHandler extends BuilderHandler {
     });
 
     baseClassBuilder.withMethodSupplier((thisPsiClass) -> {
-      final List<BuilderInfo> builderInfos = createBuilderInfos(psiClass, psiAnnotation, thisPsiClass);
-      initBuilderInfosBuilderClassType(builderInfos, bType);
+      final List<BuilderInfo> builderInfos = SuperBuilderModel.getInstance(psiClass, psiAnnotation).getBuilderInfos(thisPsiClass);
 
       // create all methods
       return addAllMethodsForBaseBuilderClass(psiClass, psiAnnotation, thisPsiClass, builderInfos, bType, cType);
@@ -270,42 +272,40 @@ public class SuperBuilderHandler extends BuilderHandler {
   }
 
   @NotNull
-  private List<BuilderInfo> createBuilderInfos(@NotNull PsiClass psiClass, @NotNull PsiAnnotation psiAnnotation,
-                                               @NotNull PsiClass baseClassBuilder) {
+  List<BuilderInfo> createBuilderInfos(@NotNull PsiClass psiClass, @NotNull PsiAnnotation psiAnnotation,
+                                       @NotNull PsiClass baseClassBuilder) {
+    final PsiClassType bType = getTypeParameterTypeOfBaseBuilder(baseClassBuilder, 0, "B");
     final List<BuilderInfo> builderInfos = createBuilderInfos(psiAnnotation, psiClass, null, baseClassBuilder);
     for (BuilderInfo builderInfo : builderInfos) {
       builderInfo.withBuilderChainResult("self()")
-        .withInstanceVariableName(INSTANCE_VARIABLE_NAME);
+        .withInstanceVariableName(INSTANCE_VARIABLE_NAME)
+        .withBuilderClassType(bType);
     }
     return builderInfos;
   }
 
-  private static void initBuilderInfosBuilderClassType(@NotNull List<BuilderInfo> builderInfos, @NotNull PsiClassType bType) {
-    for (BuilderInfo builderInfo : builderInfos) {
-      builderInfo.withBuilderClassType(bType);
+  @NotNull
+  private static PsiClassType getTypeParameterTypeOfBaseBuilder(@NotNull PsiClass baseClassBuilder, int indexFromEnd,
+                                                                @NotNull String fallbackName) {
+    final PsiTypeParameter[] typeParameters = baseClassBuilder.getTypeParameters();
+    final PsiClass typeParameter;
+    if (typeParameters.length >= 2) {
+      typeParameter = typeParameters[typeParameters.length - 1 - indexFromEnd];
+    }
+    else {
+      //Fallback only
+      typeParameter = new LightTypeParameterBuilder(fallbackName, baseClassBuilder, 1 - indexFromEnd);
     }
+    return JavaPsiFacade.getElementFactory(baseClassBuilder.getProject()).createType(typeParameter);
   }
 
   public Collection<PsiMethod> createAllMethodsOfBaseBuilder(@NotNull PsiClass psiParentClass,
                                                              @NotNull PsiAnnotation psiAnnotation,
                                                              @NotNull PsiClass psiBuilderClass) {
-    final PsiTypeParameter[] typeParameters = psiBuilderClass.getTypeParameters();
-    final PsiClass bTypeClass, cTypeClass;
-    if (typeParameters.length >= 2) {
-      bTypeClass = typeParameters[typeParameters.length - 1];
-      cTypeClass = typeParameters[typeParameters.length - 2];
-    }
-    else {
-      //Fallback only
-      bTypeClass = new LightTypeParameterBuilder("B", psiBuilderClass, 1);
-      cTypeClass = new LightTypeParameterBuilder("C", psiBuilderClass, 0);
-    }
-    final PsiElementFactory factory = JavaPsiFacade.getElementFactory(psiParentClass.getProject());
-    final PsiClassType bType = factory.createType(bTypeClass);
-    final PsiClassType cType = factory.createType(cTypeClass);
+    final PsiClassType bType = getTypeParameterTypeOfBaseBuilder(psiBuilderClass, 0, "B");
+    final PsiClassType cType = getTypeParameterTypeOfBaseBuilder(psiBuilderClass, 1, "C");
 
-    final List<BuilderInfo> builderInfos = createBuilderInfos(psiParentClass, psiAnnotation, psiBuilderClass);
-    initBuilderInfosBuilderClassType(builderInfos, bType);
+    final List<BuilderInfo> builderInfos = SuperBuilderModel.getInstance(psiParentClass, psiAnnotation).getBuilderInfos(psiBuilderClass);
 
     // create all methods
     return addAllMethodsForBaseBuilderClass(psiParentClass, psiAnnotation, psiBuilderClass, builderInfos, bType, cType);
@@ -328,9 +328,6 @@ public class SuperBuilderHandler extends BuilderHandler {
     final boolean forceCallSuper = PsiClassUtil.hasSuperClass(psiClass);
 
     if (shouldGenerateToBuilderMethods(psiAnnotation)) {
-      // precalculate obtainVia
-      builderInfos.forEach(BuilderInfo::withObtainVia);
-
       final PsiClassType typeWithGenerics = PsiClassUtil.getTypeWithGenerics(psiClass);
       final PsiClassType typeWithWildcardsForSuperBuilderTypeParameters =
         getTypeWithWildcardsForSuperBuilderTypeParameters(baseClassBuilder);
@@ -0,0 +1,197 @@
+package de.plushnikov.intellij.plugin.processor.handler;
+
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.roots.ProjectRootManager;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.openapi.vfs.VirtualFileManager;
+import com.intellij.psi.*;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import com.intellij.util.containers.ContainerUtil;
+import de.plushnikov.intellij.plugin.LombokClassNames;
+import de.plushnikov.intellij.plugin.lombokconfig.LombokConfigChangeListener;
+import de.plushnikov.intellij.plugin.problem.ProblemProcessingSink;
+import de.plushnikov.intellij.plugin.util.JavaStructureModificationTracker;
+import de.plushnikov.intellij.plugin.util.PsiAnnotationSearchUtil;
+import de.plushnikov.intellij.plugin.util.PsiClassUtil;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collections;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static de.plushnikov.intellij.plugin.util.RecursionSafeCacheUtil.getOrCompute;
+
+/**
+ * Analysis of one @SuperBuilder annotation shared by all super builder processors: validation result, names,
+ * builder base and impl classes and the {@link BuilderInfo}s of the base class.
+ * <p>
+ * The model is cached per annotation. It depends on the java structure of the files of the class and of its super classes,
+ * on their lombok.config files, on the set of files and on the project roots, but not on changes inside of code blocks.
+ * A change of one class invalidates only the models of this class and of its subclasses. Classes with @Singular fields
+ * depend on the java structure of the whole project, their handlers use resolved types of other files.
+ * Builder base class of a subclass extends the builder base class taken from the model of its super class.
+ */
+public final class SuperBuilderModel {
+  private final PsiClass myPsiClass;
+  private final PsiAnnotation myPsiAnnotation;
+
+  private final String myBuilderClassName;
+  private final String myBuilderImplClassName;
+  private final String myBuilderMethodName;
+
+  private final AtomicReference<Boolean> myValid = new AtomicReference<>();
+  private final AtomicReference<Optional<PsiClass>> myExistingBuilderClass = new AtomicReference<>();
+  private final AtomicReference<Optional<PsiClass>> myExistingBuilderImplClass = new AtomicReference<>();
+  private final AtomicReference<PsiClass> myBuilderClass = new AtomicReference<>();
+  private final AtomicReference<PsiClass> myBuilderImplClass = new AtomicReference<>();
+  private final AtomicReference<PsiClassType> myBuilderTypeWithWildcards = new AtomicReference<>();
+  private final AtomicReference<List<BuilderInfo>> myBuilderInfos = new AtomicReference<>();
+
+  private SuperBuilderModel(@NotNull PsiClass psiClass, @NotNull PsiAnnotation psiAnnotation) {
+    myPsiClass = psiClass;
+    myPsiAnnotation = psiAnnotation;
+
+    final SuperBuilderHandler handler = getHandler();
+    myBuilderClassName = handler.getBuilderClassName(psiClass);
+    myBuilderImplClassName = myBuilderClassName + "Impl";
+    myBuilderMethodName = handler.getBuilderMethodName(psiAnnotation);
+  }
+
+  /**
+   * Returns model of the @SuperBuilder annotation placed on the given class
+   */
+  @NotNull
+  public static SuperBuilderModel getInstance(@NotNull PsiClass psiClass, @NotNull PsiAnnotation psiAnnotation) {
+    return CachedValuesManager.getCachedValue(psiAnnotation, () -> CachedValueProvider.Result.create(
+      new SuperBuilderModel(psiClass, psiAnnotation), getDependencies(psiClass, psiAnnotation)));
+  }
+
+  /**
+   * Returns model of the super class, if it is annotated with @SuperBuilder too
+   */
+  @Nullable
+  static SuperBuilderModel getSuperClassModel(@NotNull PsiClass superClass) {
+    final PsiAnnotation superBuilderAnnotation = PsiAnnotationSearchUtil.findAnnotation(superClass, LombokClassNames.SUPER_BUILDER);
+    return null == superBuilderAnnotation ? null : getInstance(superClass, superBuilderAnnotation);
+  }
+
+  private static Object @NotNull [] getDependencies(@NotNull PsiClass psiClass, @NotNull PsiAnnotation psiAnnotation) {
+    final Project project = psiClass.getProject();
+    final List<Object> result = new ArrayList<>();
+    if (!psiAnnotation.isPhysical()) {
+      // changes of non-physical copies (e.g. completion) are not tracked by the java structure trackers
+      result.add(psiAnnotation);
+    }
+    result.add(ProjectRootManager.getInstance(project));
+    // super classes are resolved by name, adding, removing or moving of a file can change the hierarchy
+    result.add(VirtualFileManager.VFS_STRUCTURE_MODIFICATIONS);
+
+    // only the branch of the hierarchy from this class up to the root is tracked, siblings and subclasses are not
+    final Set<PsiFile> files = new HashSet<>();
+    final Set<VirtualFile> directories = new HashSet<>();
+    final Set<PsiClass> visitedClasses = new HashSet<>();
+    boolean hasSingularField = false;
+    for (PsiClass currentClass = psiClass; null != currentClass && visitedClasses.add(currentClass);
+         currentClass = currentClass.getSuperClass()) {
+      final PsiFile psiFile = currentClass.getContainingFile();
+      if (null != psiFile && files.add(psiFile)) {
+        result.add(JavaStructureModificationTracker.forFile(psiFile));
+      }
+      final VirtualFile virtualFile = null == psiFile ? null : psiFile.getOriginalFile().getVirtualFile();
+      if (null != virtualFile && directories.add(virtualFile.getParent())) {
+        result.add(LombokConfigChangeListener.getConfigChangeTracker(virtualFile));
+      }
+      hasSingularField |= ContainerUtil.exists(PsiClassUtil.collectClassFieldsIntern(currentClass),
+                                               psiField -> psiField.hasAnnotation(LombokClassNames.SINGULAR));
+    }
+
+    if (hasSingularField) {
+      // singular handlers depend on resolved types of the fields, declared in any file
+      result.add(JavaStructureModificationTracker.getInstance(project));
+    }
+    return result.toArray();
+  }
+
+  @NotNull
+  private static SuperBuilderHandler getHandler() {
+    return new SuperBuilderHandler();
+  }
+
+  @NotNull
+  public String getBuilderClassName() {
+    return myBuilderClassName;
+  }
+
+  @NotNull
+  public String getBuilderImplClassName() {
+    return myBuilderImplClassName;
+  }
+
+  @NotNull
+  public String getBuilderMethodName() {
+    return myBuilderMethodName;
+  }
+
+  /**
+   * Result of the validation of the annotation without reporting of any problems
+   */
+  public boolean isValid() {
+    return getOrCompute(myValid, () -> getHandler().validate(myPsiClass, myPsiAnnotation, new ProblemProcessingSink()));
+  }
+
+  @NotNull
+  public Optional<PsiClass> getExistingBuilderClass() {
+    return getOrCompute(myExistingBuilderClass, () -> PsiClassUtil.getInnerClassInternByName(myPsiClass, myBuilderClassName));
+  }
+
+  @NotNull
+  public Optional<PsiClass> getExistingBuilderImplClass() {
+    return getOrCompute(myExistingBuilderImplClass, () -> PsiClassUtil.getInnerClassInternByName(myPsiClass, myBuilderImplClassName));
+  }
+
+  /**
+   * Returns declared builder base class or the generated one, if there is no declared class
+   */
+  @NotNull
+  public PsiClass getBuilderClass() {
+    return getOrCompute(myBuilderClass, () -> getExistingBuilderClass()
+      .orElseGet(() -> getHandler().createBuilderBaseClass(myPsiClass, myPsiAnnotation)));
+  }
+
+  /**
+   * Returns declared builder impl class or the generated one, if there is no declared class
+   */
+  @NotNull
+  public PsiClass getBuilderImplClass() {
+    return getOrCompute(myBuilderImplClass, () -> getExistingBuilderImplClass()
+      .orElseGet(() -> getHandler().createBuilderImplClass(myPsiClass, getBuilderClass(), myPsiAnnotation)));
+  }
+
+  /**
+   * Returns type of the builder base class with wildcards for its self type parameters
+   */
+  @NotNull
+  public PsiClassType getBuilderTypeWithWildcards() {
+    return getOrCompute(myBuilderTypeWithWildcards,
+                        () -> SuperBuilderHandler.getTypeWithWildcardsForSuperBuilderTypeParameters(getBuilderClass()));
+  }
+
+  /**
+   * Returns infos of all builder elements for the given builder base class, they are shared for the base class of this model
+   * and must not be modified by the callers
+   */
+  @NotNull
+  List<BuilderInfo> getBuilderInfos(@NotNull PsiClass builderClass) {
+    if (builderClass == myBuilderClass.get() || builderClass == getExistingBuilderClass().orElse(null)) {
+      return getOrCompute(myBuilderInfos,
+                          () -> Collections.unmodifiableList(getHandler().createBuilderInfos(myPsiClass, myPsiAnnotation, builderClass)));
+    }
+    return getHandler().createBuilderInfos(myPsiClass, myPsiAnnotation, builderClass);
+  }
+}
@@ -54,6 +54,17 @@ public abstract class AbstractMethodProcessor extends AbstractProcessor implemen
     return result;
   }
 
+  @Nullable
+  @Override
+  public Collection<String> getNamesOfPossibleGeneratedElements(@NotNull PsiClass psiClass) {
+    for (PsiMethod psiMethod : PsiClassUtil.collectClassMethodsIntern(psiClass)) {
+      if (null != PsiAnnotationSearchUtil.findAnnotationByShortNameOnly(psiMethod, getSupportedAnnotationClasses())) {
+        return null;
+      }
+    }
+    return Collections.emptyList();
+  }
+
   /**
    * Checks the given annotation to be supported annotation by this processor
    */
@@ -7,6 +7,7 @@ import com.intellij.psi.PsiMethod;
 import de.plushnikov.intellij.plugin.LombokClassNames;
 import de.plushnikov.intellij.plugin.problem.ProblemSink;
 import de.plushnikov.intellij.plugin.processor.handler.BuilderHandler;
+import de.plushnikov.intellij.plugin.processor.handler.BuilderModel;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -41,12 +42,16 @@ public final class BuilderClassMethodProcessor extends AbstractMethodProcessor {
       return true;
     }
 
-    final String innerBuilderClassName = BuilderHandler.getBuilderClassName(psiClass, psiAnnotation, psiMethod);
+    final String innerBuilderClassName = BuilderModel.getInstance(psiClass, psiMethod, psiAnnotation).getBuilderClassName();
     return Objects.equals(nameHint, innerBuilderClassName);
   }
 
   @Override
   protected boolean validate(@NotNull PsiAnnotation psiAnnotation, @NotNull PsiMethod psiMethod, @NotNull ProblemSink problemSink) {
+    final PsiClass psiClass = psiMethod.getContainingClass();
+    if (!problemSink.deepValidation() && null != psiClass) {
+      return BuilderModel.getInstance(psiClass, psiMethod, psiAnnotation).isValid();
+    }
     return getHandler().validate(psiMethod, psiAnnotation, problemSink);
   }
 
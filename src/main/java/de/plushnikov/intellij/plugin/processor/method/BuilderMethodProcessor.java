@@ -7,6 +7,7 @@ import com.intellij.psi.PsiMethod;
 import de.plushnikov.intellij.plugin.LombokClassNames;
 import de.plushnikov.intellij.plugin.problem.ProblemSink;
 import de.plushnikov.intellij.plugin.processor.handler.BuilderHandler;
+import de.plushnikov.intellij.plugin.processor.handler.BuilderModel;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.List;
@@ -45,12 +46,8 @@ public final class BuilderMethodProcessor extends AbstractMethodProcessor {
     final PsiClass psiClass = psiMethod.getContainingClass();
     final BuilderHandler builderHandler = getHandler();
     if (null != psiClass) {
-
-      PsiClass builderClass = builderHandler.getExistInnerBuilderClass(psiClass, psiMethod, psiAnnotation).orElse(null);
-      if (null == builderClass) {
-        // have to create full class (with all methods) here, or auto-completion doesn't work
-        builderClass = builderHandler.createBuilderClass(psiClass, psiMethod, psiAnnotation);
-      }
+      // have to use full class (with all methods) here, or auto-completion doesn't work
+      final PsiClass builderClass = BuilderModel.getInstance(psiClass, psiMethod, psiAnnotation).getBuilderClass();
 
       target.addAll(
         builderHandler.createBuilderDefaultProviderMethodsIfNecessary(psiClass, null, builderClass, psiAnnotation));
@@ -3,33 +3,41 @@ package de.plushnikov.intellij.plugin.processor.method;
 import com.intellij.lang.java.JavaLanguage;
 import com.intellij.openapi.diagnostic.Logger;
 import com.intellij.openapi.progress.ProcessCanceledException;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.roots.ProjectRootManager;
+import com.intellij.openapi.util.ModificationTracker;
 import com.intellij.openapi.util.text.StringUtil;
 import com.intellij.psi.*;
 import com.intellij.psi.augment.PsiExtensionMethod;
 import com.intellij.psi.infos.MethodCandidateInfo;
+import com.intellij.psi.search.GlobalSearchScope;
 import com.intellij.psi.util.*;
 import com.intellij.util.SmartList;
 import com.intellij.util.containers.ContainerUtil;
 import de.plushnikov.intellij.plugin.LombokClassNames;
 import de.plushnikov.intellij.plugin.psi.LombokExtensionMethod;
 import de.plushnikov.intellij.plugin.psi.LombokLightParameter;
+import de.plushnikov.intellij.plugin.util.JavaStructureModificationTracker;
 import de.plushnikov.intellij.plugin.util.PsiAnnotationUtil;
 import de.plushnikov.intellij.plugin.util.PsiClassUtil;
+import de.plushnikov.intellij.plugin.util.PsiTypeUtil;
+import de.plushnikov.intellij.plugin.util.RecursionSafeCacheUtil;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
-import java.util.function.BiFunction;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 public final class ExtensionMethodsHelper {
 
   private static final Logger LOG = Logger.getInstance(ExtensionMethodsHelper.class);
+  private static final String EXTENSION_METHOD_SHORT_NAME = StringUtil.getShortName(LombokClassNames.EXTENSION_METHOD);
 
   public static List<PsiExtensionMethod> getExtensionMethods(final @NotNull PsiClass targetClass,
                                                              final @NotNull String nameHint,
                                                              final @NotNull PsiElement place) {
-    if (!(place instanceof PsiMethodCallExpression)) {
+    if (!(place instanceof PsiMethodCallExpression) || !mayUseExtensionMethods(place.getContainingFile())) {
       return Collections.emptyList();
     }
     PsiReferenceExpression methodExpression = ((PsiMethodCallExpression)place).getMethodExpression();
@@ -39,65 +47,182 @@ public final class ExtensionMethodsHelper {
         qualifierExpression instanceof PsiReferenceExpression && ((PsiReferenceExpression)qualifierExpression).resolve() instanceof PsiClass) {
       return Collections.emptyList();
     }
+    @Nullable PsiClass context = PsiTreeUtil.getContextOfType(place, PsiClass.class);
+    if (null == context) {
+      return Collections.emptyList();
+    }
+
+    final Set<PsiClass> providers = getExtensionProviders(context);
+    if (providers.isEmpty()) {
+      return Collections.emptyList();
+    }
+
     List<PsiExtensionMethod> result = new SmartList<>();
+    List<PsiExtensionMethod> extensionMethods = collectExtensionMethods(providers, ((PsiMethodCallExpression)place), targetClass);
+    extensionMethods
+      .stream()
+      .map(method -> MethodSignatureBackedByPsiMethod.create(method, PsiSubstitutor.EMPTY))
+      .distinct()
+      .filter(methodSignature -> !targetClass.getVisibleSignatures().contains(methodSignature))
+      .forEach(methodSignature -> result.add((PsiExtensionMethod)methodSignature.getMethod()));
+    return result;
+  }
 
-    @Nullable PsiClass context = PsiTreeUtil.getContextOfType(place, PsiClass.class);
-    while (context != null) {
-      final @Nullable PsiAnnotation annotation = context.getAnnotation(LombokClassNames.EXTENSION_METHOD);
-      if (annotation != null) {
-
-        final Set<PsiClass> providers = PsiAnnotationUtil.getAnnotationValues(annotation, PsiAnnotation.DEFAULT_REFERENCED_METHOD_NAME, PsiType.class).stream()
-          .filter(PsiClassType.class::isInstance)
-          .map(PsiClassType.class::cast)
-          .map(PsiClassType::resolve)
-          .filter(Objects::nonNull)
-          .collect(Collectors.toSet());
-
-        if (!providers.isEmpty()) {
-          List<PsiExtensionMethod> extensionMethods = collectExtensionMethods(providers, ((PsiMethodCallExpression)place), targetClass);
-          extensionMethods
-            .stream()
-            .map(method -> MethodSignatureBackedByPsiMethod.create(method, PsiSubstitutor.EMPTY))
-            .distinct()
-            .filter(methodSignature -> !targetClass.getVisibleSignatures().contains(methodSignature))
-            .forEach(methodSignature -> result.add((PsiExtensionMethod)methodSignature.getMethod()));
+  /**
+   * Files without any mention of ExtensionMethod annotation can't use extension methods, check it once per file.
+   * Text is checked instead of stubs, because local classes can be annotated too
+   */
+  private static boolean mayUseExtensionMethods(@Nullable PsiFile psiFile) {
+    if (!(psiFile instanceof PsiJavaFile javaFile)) {
+      // code fragments and other files get their extension providers from the context only
+      return true;
+    }
+    return CachedValuesManager.getCachedValue(javaFile, () -> CachedValueProvider.Result.create(
+      StringUtil.contains(javaFile.getViewProvider().getContents(), EXTENSION_METHOD_SHORT_NAME), javaFile));
+  }
+
+  /**
+   * Returns extension providers effective in the given class: providers declared on the class itself first,
+   * then the ones inherited from all enclosing classes
+   */
+  @NotNull
+  public static Set<PsiClass> getExtensionProviders(@NotNull PsiClass psiClass) {
+    return CachedValuesManager.getCachedValue(psiClass, () -> {
+      final Set<PsiClass> providers = new LinkedHashSet<>();
+      for (PsiClass context = psiClass; null != context; context = PsiTreeUtil.getContextOfType(context, PsiClass.class)) {
+        final @Nullable PsiAnnotation annotation = context.getAnnotation(LombokClassNames.EXTENSION_METHOD);
+        if (annotation != null) {
+          PsiAnnotationUtil.getAnnotationValues(annotation, PsiAnnotation.DEFAULT_REFERENCED_METHOD_NAME, PsiType.class).stream()
+            .filter(PsiClassType.class::isInstance)
+            .map(PsiClassType.class::cast)
+            .map(PsiClassType::resolve)
+            .filter(Objects::nonNull)
+            .forEach(providers::add);
         }
       }
-      context = PsiTreeUtil.getContextOfType(context, PsiClass.class);
+      return CachedValueProvider.Result.create(Collections.unmodifiableSet(providers), getStructureDependencies(psiClass));
+    });
+  }
+
+  /**
+   * Dependencies of values computed from the java structure of the class and of the classes it references. Annotations
+   * and members of local classes are part of java structure too, but changes of non-physical copies (e.g. completion)
+   * are not seen by the java structure tracker.
+   */
+  private static Object @NotNull [] getStructureDependencies(@NotNull PsiClass psiClass) {
+    final Project project = psiClass.getProject();
+    final ModificationTracker structureTracker = JavaStructureModificationTracker.getInstance(project);
+    if (psiClass.isPhysical()) {
+      return new Object[]{structureTracker, ProjectRootManager.getInstance(project)};
     }
-    return result;
+    return new Object[]{psiClass, structureTracker, ProjectRootManager.getInstance(project)};
   }
 
   private static List<PsiExtensionMethod> collectExtensionMethods(final Set<PsiClass> providers,
                                                          final PsiMethodCallExpression callExpression,
                                                          final PsiClass targetClass) {
+    final String methodName = callExpression.getMethodExpression().getReferenceName();
+    if (null == methodName) {
+      return Collections.emptyList();
+    }
+
     List<PsiExtensionMethod> psiMethods = new ArrayList<>();
-    providers.forEach(providerClass -> providerData(providerClass).forEach(function -> ContainerUtil.addIfNotNull(psiMethods, function.apply(targetClass, callExpression))));
+    for (PsiClass providerClass : providers) {
+      final ProviderData providerData = providerData(providerClass);
+      for (PsiMethod providerStaticMethod : providerData.getMethods(methodName)) {
+        ContainerUtil.addIfNotNull(psiMethods, providerData.getExtensionMethod(providerStaticMethod, targetClass, callExpression));
+      }
+    }
     return psiMethods;
   }
 
-  public static List<BiFunction<PsiClass, PsiMethodCallExpression, PsiExtensionMethod>> providerData(final PsiClass providerClass) {
+  /**
+   * Resolved extension methods depend on the signatures of the provider class and of the target classes,
+   * they are kept while typing inside of code blocks
+   */
+  private static ProviderData providerData(final PsiClass providerClass) {
     return CachedValuesManager.getCachedValue(providerClass, () -> CachedValueProvider.Result
-      .create(createProviderCandidates(providerClass), PsiModificationTracker.MODIFICATION_COUNT));
+      .create(new ProviderData(providerClass), getStructureDependencies(providerClass)));
   }
 
-  private static List<BiFunction<PsiClass, PsiMethodCallExpression, PsiExtensionMethod>> createProviderCandidates(final PsiClass providerClass) {
-    final List<BiFunction<PsiClass, PsiMethodCallExpression, PsiExtensionMethod>> result = new ArrayList<>();
-    for (PsiMethod providerStaticMethod : PsiClassUtil.collectClassStaticMethodsIntern(providerClass)) {
-      if (providerStaticMethod.hasModifierProperty(PsiModifier.PUBLIC)) {
-        PsiParameter @NotNull [] parameters = providerStaticMethod.getParameterList().getParameters();
-        if (parameters.length > 0 && !(parameters[0].getType() instanceof PsiPrimitiveType)) {
-          result.add((targetClass, call) -> createLightMethodBySignature(providerStaticMethod, targetClass, call));
+  /**
+   * Candidate methods of one extension provider class indexed by name, together with already resolved extension methods
+   */
+  private static final class ProviderData {
+    private final Map<String, List<PsiMethod>> myMethodsByName = new HashMap<>();
+    private final ConcurrentMap<SignatureKey, Optional<PsiExtensionMethod>> myResolvedMethods = new ConcurrentHashMap<>();
+
+    private ProviderData(@NotNull PsiClass providerClass) {
+      for (PsiMethod providerStaticMethod : PsiClassUtil.collectClassStaticMethodsIntern(providerClass)) {
+        if (providerStaticMethod.hasModifierProperty(PsiModifier.PUBLIC)) {
+          PsiParameter @NotNull [] parameters = providerStaticMethod.getParameterList().getParameters();
+          if (parameters.length > 0 && !(parameters[0].getType() instanceof PsiPrimitiveType)) {
+            myMethodsByName.computeIfAbsent(providerStaticMethod.getName(), name -> new SmartList<>()).add(providerStaticMethod);
+          }
         }
       }
     }
-    return result;
+
+    @NotNull
+    List<PsiMethod> getMethods(@NotNull String methodName) {
+      return myMethodsByName.getOrDefault(methodName, Collections.emptyList());
+    }
+
+    @Nullable
+    PsiExtensionMethod getExtensionMethod(@NotNull PsiMethod staticMethod,
+                                         @NotNull PsiClass targetClass,
+                                         @NotNull PsiMethodCallExpression callExpression) {
+      final SignatureKey signatureKey = SignatureKey.create(staticMethod, targetClass, callExpression);
+      if (null == signatureKey) {
+        return createLightMethodBySignature(staticMethod, targetClass, callExpression);
+      }
+
+      final Optional<PsiExtensionMethod> result = RecursionSafeCacheUtil.getOrCompute(
+        myResolvedMethods, signatureKey, () -> Optional.ofNullable(createLightMethodBySignature(staticMethod, targetClass, callExpression)));
+      return result.orElse(null);
+    }
+  }
+
+  /**
+   * Inference of an extension method depends only on the provider method, the target class, the resolve scope of the call
+   * and the types of the receiver and of all arguments of the call
+   */
+  private record SignatureKey(@NotNull PsiMethod staticMethod, @NotNull PsiClass targetClass, @NotNull GlobalSearchScope resolveScope,
+                              @NotNull PsiType receiverType, @NotNull List<PsiType> argumentTypes) {
+
+    /**
+     * Returns null if some argument has no standalone type or some type is not context-free (type parameters, local classes),
+     * such call depends on its context and can't be cached
+     */
+    @Nullable
+    static SignatureKey create(@NotNull PsiMethod staticMethod,
+                               @NotNull PsiClass targetClass,
+                               @NotNull PsiMethodCallExpression callExpression) {
+      final PsiExpression qualifierExpression = callExpression.getMethodExpression().getQualifierExpression();
+      final PsiType receiverType = null == qualifierExpression ? null : qualifierExpression.getType();
+      if (null == receiverType || !PsiTypeUtil.isContextFreeType(receiverType)) {
+        return null;
+      }
+
+      final PsiExpression[] expressions = callExpression.getArgumentList().getExpressions();
+      final List<PsiType> argumentTypes = new ArrayList<>(expressions.length);
+      for (PsiExpression expression : expressions) {
+        if (expression instanceof PsiFunctionalExpression || PsiPolyExpressionUtil.isPolyExpression(expression)) {
+          return null;
+        }
+        final PsiType argumentType = expression.getType();
+        if (null == argumentType || !(PsiTypes.nullType().equals(argumentType) || PsiTypeUtil.isContextFreeType(argumentType))) {
+          return null;
+        }
+        argumentTypes.add(argumentType);
+      }
+      return new SignatureKey(staticMethod, targetClass, callExpression.getResolveScope(), receiverType, argumentTypes);
+    }
   }
 
   private static PsiExtensionMethod createLightMethodBySignature(PsiMethod staticMethod,
                                                                        PsiClass targetClass,
                                                                        PsiMethodCallExpression callExpression) {
-    if (!staticMethod.getName().equals(callExpression.getMethodExpression().getReferenceName())) return null;
     PsiClass providerClass = Objects.requireNonNull(staticMethod.getContainingClass());
     PsiMethodCallExpression staticMethodCall;
     try {
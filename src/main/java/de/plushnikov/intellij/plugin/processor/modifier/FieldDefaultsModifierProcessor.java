@@ -1,10 +1,13 @@
 package de.plushnikov.intellij.plugin.processor.modifier;
 
 import com.intellij.psi.*;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
 import com.intellij.psi.util.PsiTreeUtil;
 import de.plushnikov.intellij.plugin.LombokClassNames;
 import de.plushnikov.intellij.plugin.lombokconfig.ConfigDiscovery;
 import de.plushnikov.intellij.plugin.lombokconfig.ConfigKey;
+import de.plushnikov.intellij.plugin.lombokconfig.LombokConfigChangeListener;
 import de.plushnikov.intellij.plugin.psi.LombokLightFieldBuilder;
 import de.plushnikov.intellij.plugin.util.LombokProcessorUtil;
 import de.plushnikov.intellij.plugin.util.PsiAnnotationSearchUtil;
@@ -38,7 +41,7 @@ public class FieldDefaultsModifierProcessor implements ModifierProcessor {
 
     final PsiClass searchableClass = PsiTreeUtil.getParentOfType(modifierList, PsiClass.class, true);
 
-    return null != searchableClass && canBeAffected(searchableClass);
+    return null != searchableClass && getClassDefaults(searchableClass).canBeAffected();
   }
 
   @Override
@@ -52,21 +55,18 @@ public class FieldDefaultsModifierProcessor implements ModifierProcessor {
       return; // Should not get here, but safer to check
     }
 
-    @Nullable final PsiAnnotation fieldDefaultsAnnotation = PsiAnnotationSearchUtil.findAnnotation(searchableClass,
-                                                                                                   LombokClassNames.FIELD_DEFAULTS);
-    final boolean isConfigDefaultFinal = isConfigDefaultFinal(searchableClass);
-    final boolean isConfigDefaultPrivate = isConfigDefaultPrivate(searchableClass);
+    final ClassDefaults classDefaults = getClassDefaults(searchableClass);
 
     final PsiField parentField = (PsiField) modifierList.getParent();
 
     // FINAL
-    if (shouldMakeFinal(parentField, fieldDefaultsAnnotation, isConfigDefaultFinal)) {
+    if (classDefaults.makeFinal() && !PsiAnnotationSearchUtil.isAnnotatedWith(parentField, LombokClassNames.NON_FINAL)) {
       modifiers.add(PsiModifier.FINAL);
     }
 
     // VISIBILITY
-    if (canChangeVisibility(parentField, modifierList)) {
-      final String defaultAccessLevel = detectDefaultAccessLevel(fieldDefaultsAnnotation, isConfigDefaultPrivate);
+    final String defaultAccessLevel = classDefaults.accessLevel();
+    if (null != defaultAccessLevel && canChangeVisibility(parentField, modifierList)) {
       if (PsiModifier.PRIVATE.equals(defaultAccessLevel)) {
         modifiers.add(PsiModifier.PRIVATE);
         modifiers.remove(PsiModifier.PACKAGE_LOCAL);
@@ -82,10 +82,37 @@ public class FieldDefaultsModifierProcessor implements ModifierProcessor {
     }
   }
 
-  private static boolean canBeAffected(PsiClass searchableClass) {
-    return PsiAnnotationSearchUtil.isAnnotatedWith(searchableClass, LombokClassNames.FIELD_DEFAULTS)
-      || isConfigDefaultFinal(searchableClass)
-      || isConfigDefaultPrivate(searchableClass);
+  /**
+   * Defaults of all fields of the class: result of @FieldDefaults and lombok.config, computed once per class modification
+   *
+   * @param canBeAffected true if fields of the class can get any modifier
+   * @param makeFinal     true if fields should be made final
+   * @param accessLevel   access modifier for fields without explicit one, or null if it should not be changed
+   */
+  private record ClassDefaults(boolean canBeAffected, boolean makeFinal, @Nullable String accessLevel) {
+  }
+
+  @NotNull
+  private static ClassDefaults getClassDefaults(@NotNull PsiClass searchableClass) {
+    return CachedValuesManager.getCachedValue(searchableClass, () -> {
+      final PsiFile psiFile = searchableClass.getContainingFile();
+      return CachedValueProvider.Result.create(computeClassDefaults(searchableClass), searchableClass,
+                                               LombokConfigChangeListener.getConfigChangeTracker(
+                                                 null == psiFile ? null : psiFile.getOriginalFile().getVirtualFile()));
+    });
+  }
+
+  @NotNull
+  private static ClassDefaults computeClassDefaults(@NotNull PsiClass searchableClass) {
+    @Nullable final PsiAnnotation fieldDefaultsAnnotation = PsiAnnotationSearchUtil.findAnnotation(searchableClass,
+                                                                                                   LombokClassNames.FIELD_DEFAULTS);
+    final boolean isConfigDefaultFinal = isConfigDefaultFinal(searchableClass);
+    final boolean isConfigDefaultPrivate = isConfigDefaultPrivate(searchableClass);
+
+    final boolean canBeAffected = null != fieldDefaultsAnnotation || isConfigDefaultFinal || isConfigDefaultPrivate;
+    return new ClassDefaults(canBeAffected,
+                             shouldMakeFinalByDefault(fieldDefaultsAnnotation, isConfigDefaultFinal),
+                             detectDefaultAccessLevel(fieldDefaultsAnnotation, isConfigDefaultPrivate));
   }
 
   private static boolean isConfigDefaultFinal(PsiClass searchableClass) {
@@ -96,13 +123,6 @@ public class FieldDefaultsModifierProcessor implements ModifierProcessor {
     return getConfigDiscovery().getBooleanLombokConfigProperty(ConfigKey.FIELDDEFAULTS_PRIVATE, searchableClass);
   }
 
-  private static boolean shouldMakeFinal(@NotNull PsiField parentField,
-                                         @Nullable PsiAnnotation fieldDefaultsAnnotation,
-                                         boolean isConfigDefaultFinal) {
-    return shouldMakeFinalByDefault(fieldDefaultsAnnotation, isConfigDefaultFinal)
-      && !PsiAnnotationSearchUtil.isAnnotatedWith(parentField, LombokClassNames.NON_FINAL);
-  }
-
   private static boolean shouldMakeFinalByDefault(@Nullable PsiAnnotation fieldDefaultsAnnotation, boolean isConfigDefaultFinal) {
     if (fieldDefaultsAnnotation != null) {
       // Is @FieldDefaults(makeFinal = true)?
@@ -1,13 +1,25 @@
 package de.plushnikov.intellij.plugin.provider;
 
 import com.intellij.lang.java.JavaLanguage;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.roots.ProjectRootManager;
+import com.intellij.openapi.util.ModificationTracker;
+import com.intellij.openapi.util.RecursionGuard;
+import com.intellij.openapi.util.RecursionManager;
+import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.psi.*;
 import com.intellij.psi.augment.PsiAugmentProvider;
 import com.intellij.psi.augment.PsiExtensionMethod;
 import com.intellij.psi.impl.source.PsiExtensibleClass;
-import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import com.intellij.util.containers.ContainerUtil;
 import com.siyeh.ig.psiutils.InitializationUtils;
 import de.plushnikov.intellij.plugin.LombokClassNames;
+import de.plushnikov.intellij.plugin.lombokconfig.ConfigDiscovery;
+import de.plushnikov.intellij.plugin.lombokconfig.ConfigKey;
+import de.plushnikov.intellij.plugin.lombokconfig.LombokConfigChangeListener;
 import de.plushnikov.intellij.plugin.processor.LombokProcessorManager;
 import de.plushnikov.intellij.plugin.processor.Processor;
 import de.plushnikov.intellij.plugin.processor.ValProcessor;
@@ -17,12 +29,14 @@ import de.plushnikov.intellij.plugin.processor.modifier.ModifierProcessor;
 import de.plushnikov.intellij.plugin.psi.LombokLightAnnotationMethodBuilder;
 import de.plushnikov.intellij.plugin.psi.LombokLightClassBuilder;
 import de.plushnikov.intellij.plugin.psi.LombokLightMethodBuilder;
+import de.plushnikov.intellij.plugin.util.JavaStructureModificationTracker;
 import de.plushnikov.intellij.plugin.util.PsiAnnotationSearchUtil;
 import de.plushnikov.intellij.plugin.util.PsiAnnotationUtil;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static de.plushnikov.intellij.plugin.util.LombokLibraryUtil.hasLombokLibrary;
 
@@ -32,6 +46,8 @@ import static de.plushnikov.intellij.plugin.util.LombokLibraryUtil.hasLombokLibr
  * @author Plushnikov Michail
  */
 public class LombokAugmentProvider extends PsiAugmentProvider {
+  private static final String LOMBOK_PACKAGE = "lombok";
+
   private static final class Holder {
     static final Collection<ModifierProcessor> modifierProcessors = LombokProcessorManager.getLombokModifierProcessors();
   }
@@ -43,7 +59,11 @@ public class LombokAugmentProvider extends PsiAugmentProvider {
   @Override
   protected Set<String> transformModifiers(@NotNull PsiModifierList modifierList, @NotNull final Set<String> modifiers) {
     // skip if no lombok library is present
-    if (!hasLombokLibrary(modifierList.getProject())) {
+    if (!hasLombokLibrary(modifierList)) {
+      return modifiers;
+    }
+    // skip files without any mention of lombok, none of the modifier processors can change their modifiers
+    if (!mayBeAffectedByLombok(modifierList)) {
       return modifiers;
     }
 
@@ -60,9 +80,35 @@ public class LombokAugmentProvider extends PsiAugmentProvider {
     return result;
   }
 
+  private static boolean mayBeAffectedByLombok(@NotNull PsiModifierList modifierList) {
+    final PsiFile psiFile = modifierList.getContainingFile();
+    if (!(psiFile instanceof PsiJavaFile javaFile)) {
+      return true;
+    }
+    return CachedValuesManager.getCachedValue(javaFile, () -> CachedValueProvider.Result.create(
+      computeMayBeAffectedByLombok(javaFile), javaFile,
+      LombokConfigChangeListener.getConfigChangeTracker(javaFile.getOriginalFile().getVirtualFile())));
+  }
+
+  /**
+   * Modifiers can be changed by lombok annotations and val/var (they need an import or a qualified name, so the file
+   * text mentions lombok) or by the fieldDefaults settings of lombok.config
+   */
+  private static boolean computeMayBeAffectedByLombok(@NotNull PsiJavaFile javaFile) {
+    if (javaFile instanceof PsiCompiledElement) {
+      return false;
+    }
+    final ConfigDiscovery configDiscovery = ConfigDiscovery.getInstance();
+    if (configDiscovery.getBooleanLombokConfigProperty(ConfigKey.FIELDDEFAULTS_FINAL, javaFile) ||
+        configDiscovery.getBooleanLombokConfigProperty(ConfigKey.FIELDDEFAULTS_PRIVATE, javaFile)) {
+      return true;
+    }
+    return StringUtil.contains(javaFile.getViewProvider().getContents(), LOMBOK_PACKAGE);
+  }
+
   @Override
   public boolean canInferType(@NotNull PsiTypeElement typeElement) {
-    return hasLombokLibrary(typeElement.getProject()) && ValProcessor.canInferType(typeElement);
+    return hasLombokLibrary(typeElement) && ValProcessor.canInferType(typeElement);
   }
 
   /*
@@ -107,7 +153,7 @@ public class LombokAugmentProvider extends PsiAugmentProvider {
   @Nullable
   @Override
   protected PsiType inferType(@NotNull PsiTypeElement typeElement) {
-    return hasLombokLibrary(typeElement.getProject()) ? ValProcessor.inferType(typeElement) : null;
+    return hasLombokLibrary(typeElement) ? ValProcessor.inferType(typeElement) : null;
   }
 
   @NotNull
@@ -132,7 +178,7 @@ public class LombokAugmentProvider extends PsiAugmentProvider {
     }
 
     // skip processing if disabled, or no lombok library is present
-    if (!hasLombokLibrary(element.getProject())) {
+    if (!hasLombokLibrary(element)) {
       return emptyResult;
     }
     if (psiClass.isAnnotationType() && type == PsiMethod.class) {
@@ -146,17 +192,26 @@ public class LombokAugmentProvider extends PsiAugmentProvider {
       return emptyResult;
     }
 
-    // All invoker of AugmentProvider already make caching,
-    // and we want to try to skip recursive calls completely
-
+    // All invoker of AugmentProvider already make caching, but they ask with different nameHints,
+    // so results of every processor are cached per class and filtered by nameHint here
     return getPsis(psiClass, type, nameHint);
   }
 
   @NotNull
-  private static <Psi extends PsiElement> List<Psi> getPsis(PsiClass psiClass, Class<Psi> type, String nameHint) {
+  private static <Psi extends PsiElement> List<Psi> getPsis(@NotNull PsiClass psiClass, @NotNull Class<Psi> type, @Nullable String nameHint) {
+    // plain classes without any lombok annotations don't need any further processing
+    final Collection<Processor> annotatedProcessors = LombokProcessorManager.getProcessors(type, psiClass);
+    if (annotatedProcessors.isEmpty()) {
+      return Collections.emptyList();
+    }
+
+    final ClassAugments classAugments = ClassAugments.getInstance(psiClass);
+    final Collection<Processor> processors = null == nameHint ? annotatedProcessors
+                                                              : classAugments.getProcessorsForName(type, nameHint);
+
     final List<Psi> result = new ArrayList<>();
-    for (Processor processor : LombokProcessorManager.getProcessors(type)) {
-      final List<? super PsiElement> generatedElements = processor.process(psiClass, nameHint);
+    for (Processor processor : processors) {
+      final List<? super PsiElement> generatedElements = classAugments.getGeneratedElements(processor, nameHint);
       for (Object psiElement : generatedElements) {
         result.add((Psi)psiElement);
       }
@@ -164,11 +219,107 @@ public class LombokAugmentProvider extends PsiAugmentProvider {
     return result;
   }
 
+  /**
+   * Caches per class the elements generated by each processor and an index of names each processor can generate
+   */
+  private static final class ClassAugments {
+    private final PsiClass myPsiClass;
+    private final Map<Processor, List<? super PsiElement>> myGeneratedElements = new ConcurrentHashMap<>();
+    private final Map<Class<? extends PsiElement>, ProcessorNameIndex> myNameIndexes = new ConcurrentHashMap<>();
+
+    private ClassAugments(@NotNull PsiClass psiClass) {
+      myPsiClass = psiClass;
+    }
+
+    static @NotNull ClassAugments getInstance(@NotNull PsiClass psiClass) {
+      return CachedValuesManager.getCachedValue(psiClass, () -> CachedValueProvider.Result.create(
+        new ClassAugments(psiClass), getDependencies(psiClass)));
+    }
+
+    private static Object @NotNull [] getDependencies(@NotNull PsiClass psiClass) {
+      final Project project = psiClass.getProject();
+      // generated members depend on the structure of the class and of other classes (@Delegate, @SuperBuilder, ...),
+      // but never on the content of code blocks, so typing inside of method bodies keeps them
+      final ModificationTracker structureTracker = JavaStructureModificationTracker.getInstance(project);
+      final ModificationTracker configTracker = LombokConfigChangeListener.getConfigChangeTracker(getVirtualFile(psiClass));
+      if (psiClass.isPhysical()) {
+        return new Object[]{structureTracker, ProjectRootManager.getInstance(project), configTracker};
+      }
+      // changes of non-physical copies are not seen by the java structure tracker
+      return new Object[]{psiClass, structureTracker, ProjectRootManager.getInstance(project), configTracker};
+    }
+
+    @Nullable
+    private static VirtualFile getVirtualFile(@NotNull PsiClass psiClass) {
+      final PsiFile psiFile = psiClass.getContainingFile();
+      return null == psiFile ? null : psiFile.getOriginalFile().getVirtualFile();
+    }
+
+    @NotNull
+    Collection<Processor> getProcessorsForName(@NotNull Class<? extends PsiElement> type, @NotNull String nameHint) {
+      final ProcessorNameIndex nameIndex = myNameIndexes.computeIfAbsent(type, t -> ProcessorNameIndex.build(myPsiClass, t));
+      return nameIndex.getProcessors(nameHint);
+    }
+
+    @NotNull
+    List<? super PsiElement> getGeneratedElements(@NotNull Processor processor, @Nullable String nameHint) {
+      List<? super PsiElement> result = myGeneratedElements.get(processor);
+      if (null == result) {
+        final RecursionGuard.StackStamp stackStamp = RecursionManager.markStack();
+        result = RecursionManager.doPreventingRecursion(myPsiClass, true, () -> processor.process(myPsiClass));
+        if (null == result) {
+          // recursive call during computation of the cached value, skip the cache for this one
+          return processor.process(myPsiClass, nameHint);
+        }
+        if (stackStamp.mayCacheNow()) {
+          myGeneratedElements.put(processor, result);
+        }
+      }
+      if (null == nameHint) {
+        return result;
+      }
+      return ContainerUtil.filter(result, psi -> psi instanceof PsiNamedElement namedElement && nameHint.equals(namedElement.getName()));
+    }
+  }
+
+  private record ProcessorNameIndex(@NotNull Collection<Processor> processors,
+                                    @NotNull Map<String, Set<Processor>> processorsByName,
+                                    @NotNull Set<Processor> processorsWithUnknownNames) {
+
+    static @NotNull ProcessorNameIndex build(@NotNull PsiClass psiClass, @NotNull Class<? extends PsiElement> type) {
+      final Collection<Processor> processors = LombokProcessorManager.getProcessors(type, psiClass);
+      final Map<String, Set<Processor>> processorsByName = new HashMap<>();
+      final Set<Processor> processorsWithUnknownNames = new HashSet<>();
+      for (Processor processor : processors) {
+        final Collection<String> names = processor.getNamesOfPossibleGeneratedElements(psiClass);
+        if (null == names) {
+          processorsWithUnknownNames.add(processor);
+        }
+        else {
+          for (String name : names) {
+            processorsByName.computeIfAbsent(name, n -> new HashSet<>()).add(processor);
+          }
+        }
+      }
+      return new ProcessorNameIndex(processors, processorsByName, processorsWithUnknownNames);
+    }
+
+    @NotNull
+    Collection<Processor> getProcessors(@NotNull String nameHint) {
+      final Set<Processor> processorsForName = processorsByName.getOrDefault(nameHint, Collections.emptySet());
+      if (processorsForName.isEmpty() && processorsWithUnknownNames.isEmpty()) {
+        return Collections.emptyList();
+      }
+      // keep the order of processors stable
+      return ContainerUtil.filter(processors, p -> processorsForName.contains(p) || processorsWithUnknownNames.contains(p));
+    }
+  }
+
   @Override
   protected List<PsiExtensionMethod> getExtensionMethods(@NotNull PsiClass aClass,
                                                          @NotNull String nameHint,
                                                          @NotNull PsiElement context) {
-    if (!hasLombokLibrary(context.getProject())) {
+    if (!hasLombokLibrary(context)) {
       return Collections.emptyList();
     }
     return ExtensionMethodsHelper.getExtensionMethods(aClass, nameHint, context);
@@ -14,6 +14,7 @@ import com.intellij.psi.impl.light.LightTypeParameterListBuilder;
 import com.intellij.psi.util.CachedValueProvider;
 import com.intellij.psi.util.CachedValuesManager;
 import com.intellij.util.IncorrectOperationException;
+import com.intellij.util.containers.Interner;
 import de.plushnikov.intellij.plugin.extension.LombokInferredAnnotationProvider;
 import icons.LombokIcons;
 import org.jetbrains.annotations.NonNls;
@@ -27,12 +28,14 @@ import java.util.function.Function;
  * @author Plushnikov Michail
  */
 public class LombokLightMethodBuilder extends LightMethodBuilder implements SyntheticElement {
+  // generated bodies of the same shape are equal for many classes (getters, setters, builder methods...)
+  private static final Interner<String> BODY_TEXT_INTERNER = Interner.createWeakInterner();
+
   private PsiMethod myMethod;
   private ASTNode myASTNode;
   private String myBodyAsText;
-  private PsiCodeBlock myBodyCodeBlock;
-  // used to simplify comparing of returnType in equal method
-  private String myReturnTypeAsText;
+  // body is parsed lazily, but only once: callers expect the same PSI tree on every call
+  private volatile PsiCodeBlock myBodyCodeBlock;
   private Function<LombokLightMethodBuilder, String> myBuilderBodyFunction;
 
   private boolean myReadWriteAccess = false;
@@ -68,12 +71,6 @@ public class LombokLightMethodBuilder extends LightMethodBuilder implements Synt
     return this;
   }
 
-  @Override
-  public LightMethodBuilder setMethodReturnType(PsiType returnType) {
-    myReturnTypeAsText = returnType.getPresentableText();
-    return super.setMethodReturnType(returnType);
-  }
-
   public LombokLightMethodBuilder withFinalParameter(@NotNull String name, @NotNull PsiType type) {
     final LombokLightParameter lombokLightParameter = createParameter(name, type);
     lombokLightParameter.setModifiers(PsiModifier.FINAL);
@@ -115,12 +112,14 @@ public class LombokLightMethodBuilder extends LightMethodBuilder implements Synt
   }
 
   public LombokLightMethodBuilder withBodyText(@NotNull String codeBlockText) {
-    myBodyAsText = codeBlockText;
+    myBodyAsText = BODY_TEXT_INTERNER.intern(codeBlockText);
+    myBuilderBodyFunction = null;
     myBodyCodeBlock = null;
     return this;
   }
 
   public LombokLightMethodBuilder withBodyText(@NotNull Function<LombokLightMethodBuilder, String> builderStringFunction) {
+    myBodyAsText = null;
     myBuilderBodyFunction = builderStringFunction;
     myBodyCodeBlock = null;
     return this;
@@ -183,20 +182,38 @@ public class LombokLightMethodBuilder extends LightMethodBuilder implements Synt
     return (LombokLightParameterListBuilder)super.getParameterList();
   }
 
+  /**
+   * Returns text of the body without parsing it, or null if the method has no body
+   */
+  @Nullable
+  public String getBodyText() {
+    String bodyAsText = myBodyAsText;
+    final Function<LombokLightMethodBuilder, String> builderBodyFunction = myBuilderBodyFunction;
+    if (null == bodyAsText && null != builderBodyFunction) {
+      bodyAsText = BODY_TEXT_INTERNER.intern(builderBodyFunction.apply(this));
+      myBodyAsText = bodyAsText;
+      myBuilderBodyFunction = null;
+    }
+    return bodyAsText;
+  }
+
   @Override
   public PsiCodeBlock getBody() {
-    String bodyAsText = myBodyAsText;
-    Function<LombokLightMethodBuilder, String> builderBodyFunction = myBuilderBodyFunction;
-    if (null == myBodyCodeBlock && (bodyAsText != null || builderBodyFunction != null)) {
-      if (bodyAsText == null) {
-        bodyAsText = builderBodyFunction.apply(this);
+    PsiCodeBlock result = myBodyCodeBlock;
+    if (null == result) {
+      synchronized (this) {
+        result = myBodyCodeBlock;
+        if (null == result) {
+          final String bodyAsText = getBodyText();
+          if (null != bodyAsText) {
+            final PsiElementFactory elementFactory = JavaPsiFacade.getElementFactory(getProject());
+            result = elementFactory.createCodeBlockFromText("{" + bodyAsText + "}", this);
+            myBodyCodeBlock = result;
+          }
+        }
       }
-      final PsiElementFactory elementFactory = JavaPsiFacade.getElementFactory(getProject());
-      myBodyCodeBlock = elementFactory.createCodeBlockFromText("{" + bodyAsText + "}", this);
-      myBodyAsText = null;
-      myBuilderBodyFunction = null;
     }
-    return myBodyCodeBlock;
+    return result;
   }
 
   @Override
@@ -270,14 +287,13 @@ public class LombokLightMethodBuilder extends LightMethodBuilder implements Synt
         methodTextDeclaration.deleteCharAt(methodTextDeclaration.length() - 1);
       }
       methodTextDeclaration.append(')');
-      methodTextDeclaration.append('{').append("  ").append('}');
+      // use text of the body directly, so it is not parsed twice
+      final String bodyAsText = getBodyText();
+      methodTextDeclaration.append('{').append(null != bodyAsText ? bodyAsText : "  ").append('}');
 
       final PsiElementFactory elementFactory = JavaPsiFacade.getElementFactory(getManager().getProject());
 
       result = elementFactory.createMethodFromText(methodTextDeclaration.toString(), getContainingClass());
-      if (null != getBody()) {
-        result.getBody().replace(getBody());
-      }
     }
     catch (Exception ex) {
       result = null;
@@ -336,12 +352,16 @@ public class LombokLightMethodBuilder extends LightMethodBuilder implements Synt
 
     LombokLightMethodBuilder that = (LombokLightMethodBuilder)o;
 
+    // cheap checks first, most of the compared methods differ already here
     if (!getName().equals(that.getName())) {
       return false;
     }
     if (isConstructor() != that.isConstructor()) {
       return false;
     }
+    if (getParameterList().getParametersCount() != that.getParameterList().getParametersCount()) {
+      return false;
+    }
     final PsiClass containingClass = getContainingClass();
     final PsiClass thatContainingClass = that.getContainingClass();
     if (!Objects.equals(containingClass, thatContainingClass)) {
@@ -354,13 +374,25 @@ public class LombokLightMethodBuilder extends LightMethodBuilder implements Synt
       return false;
     }
 
-    return Objects.equals(myReturnTypeAsText, that.myReturnTypeAsText);
+    return isSameReturnType(getReturnType(), that.getReturnType());
+  }
+
+  private static boolean isSameReturnType(@Nullable PsiType returnType, @Nullable PsiType thatReturnType) {
+    if (returnType == thatReturnType) {
+      return true;
+    }
+    if (null == returnType || null == thatReturnType) {
+      return false;
+    }
+    // render text only for otherwise equal methods
+    return returnType.getPresentableText().equals(thatReturnType.getPresentableText());
   }
 
   @Override
   public int hashCode() {
-    // should be constant because of RenameJavaMethodProcessor#renameElement and fixNameCollisionsWithInnerClassMethod(...)
-    return 1;
+    // should not depend on anything changeable because of RenameJavaMethodProcessor#renameElement and
+    // fixNameCollisionsWithInnerClassMethod(...), the name is safe: it is never changed by setName
+    return getName().hashCode();
   }
 
   @Override
@@ -0,0 +1,56 @@
+package de.plushnikov.intellij.plugin.util;
+
+import com.intellij.extapi.psi.StubBasedPsiElementBase;
+import com.intellij.lang.ASTNode;
+import com.intellij.openapi.util.ModificationTracker;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.impl.source.tree.CompositeElement;
+import com.intellij.psi.util.PsiModificationTracker;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.ref.WeakReference;
+
+/**
+ * Tracks modifications of one element (and its subtree) only, changes of other parts of the same file are not counted.
+ * <p>
+ * The AST of stub based elements is never loaded by the tracker. A reload of the AST is counted as a modification,
+ * because the modification count of the new AST starts again from the beginning.
+ */
+public final class ElementModificationTracker implements ModificationTracker {
+  private final PsiElement myElement;
+  private WeakReference<ASTNode> myNode = new WeakReference<>(null);
+  private long myNodeChanges;
+
+  private ElementModificationTracker(@NotNull PsiElement element) {
+    myElement = element;
+  }
+
+  @NotNull
+  public static ModificationTracker forElement(@NotNull PsiElement element) {
+    if (!element.isPhysical()) {
+      // non-physical copies are changed without any events, nothing but the global tracker can be trusted
+      return PsiModificationTracker.getInstance(element.getProject());
+    }
+    return new ElementModificationTracker(element);
+  }
+
+  @Override
+  public synchronized long getModificationCount() {
+    final ASTNode node = getLoadedNode(myElement);
+    if (node != myNode.get()) {
+      myNode = new WeakReference<>(node);
+      myNodeChanges++;
+    }
+    final long count = node instanceof CompositeElement compositeElement ? compositeElement.getModificationCount() : 0;
+    return (myNodeChanges << 32) + count;
+  }
+
+  @Nullable
+  private static ASTNode getLoadedNode(@NotNull PsiElement element) {
+    if (element instanceof StubBasedPsiElementBase<?> stubBasedElement && null != stubBasedElement.getStub()) {
+      return null;
+    }
+    return element.getNode();
+  }
+}
@@ -0,0 +1,114 @@
+package de.plushnikov.intellij.plugin.util;
+
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.components.Service;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.Key;
+import com.intellij.openapi.util.ModificationTracker;
+import com.intellij.openapi.util.SimpleModificationTracker;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.*;
+import com.intellij.psi.util.PsiModificationTracker;
+import com.intellij.psi.util.PsiTreeUtil;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Tracks changes of the java structure of the project: every change of PSI is counted, except for changes of java files
+ * located completely inside of code blocks (method bodies, initializers, lambda bodies). Such changes can't modify
+ * signatures, fields, annotations or types of any class, as long as no local or anonymous class is touched.
+ * <p>
+ * Counted changes of a java file are also counted by the tracker of this file only, see {@link #forFile(PsiFile)}.
+ */
+@Service(Service.Level.PROJECT)
+public final class JavaStructureModificationTracker extends SimpleModificationTracker implements Disposable {
+  private static final Key<SimpleModificationTracker> FILE_TRACKER_KEY = Key.create("lombok.java.structure.file.tracker");
+
+  public JavaStructureModificationTracker(@NotNull Project project) {
+    PsiManager.getInstance(project).addPsiTreeChangeListener(new PsiTreeChangeAdapter() {
+      @Override
+      public void childAdded(@NotNull PsiTreeChangeEvent event) {
+        processChange(event, event.getChild(), null);
+      }
+
+      @Override
+      public void childRemoved(@NotNull PsiTreeChangeEvent event) {
+        processChange(event, event.getChild(), null);
+      }
+
+      @Override
+      public void childReplaced(@NotNull PsiTreeChangeEvent event) {
+        processChange(event, event.getOldChild(), event.getNewChild());
+      }
+
+      @Override
+      public void childrenChanged(@NotNull PsiTreeChangeEvent event) {
+        processChange(event, null, null);
+      }
+
+      @Override
+      public void childMoved(@NotNull PsiTreeChangeEvent event) {
+        incModificationCount(event.getFile());
+      }
+
+      @Override
+      public void propertyChanged(@NotNull PsiTreeChangeEvent event) {
+        incModificationCount(event.getFile());
+      }
+    }, this);
+  }
+
+  @NotNull
+  public static ModificationTracker getInstance(@NotNull Project project) {
+    return project.getService(JavaStructureModificationTracker.class);
+  }
+
+  /**
+   * Returns tracker of the java structure of one file: changes of other files, of the set of files and of the project roots
+   * are not counted. Changes of non-physical files are not seen by the listener, the global PSI tracker is used for them.
+   */
+  @NotNull
+  public static ModificationTracker forFile(@NotNull PsiFile psiFile) {
+    final VirtualFile virtualFile = psiFile.getVirtualFile();
+    if (!psiFile.isPhysical() || null == virtualFile) {
+      return PsiModificationTracker.getInstance(psiFile.getProject());
+    }
+    return getFileTracker(virtualFile);
+  }
+
+  @NotNull
+  private static SimpleModificationTracker getFileTracker(@NotNull VirtualFile virtualFile) {
+    final SimpleModificationTracker tracker = virtualFile.getUserData(FILE_TRACKER_KEY);
+    return null != tracker ? tracker : virtualFile.putUserDataIfAbsent(FILE_TRACKER_KEY, new SimpleModificationTracker());
+  }
+
+  private void processChange(@NotNull PsiTreeChangeEvent event, @Nullable PsiElement oldChild, @Nullable PsiElement newChild) {
+    if (event.getFile() instanceof PsiJavaFile && isInsideCodeBlock(event.getParent()) &&
+        !containsClass(oldChild) && !containsClass(newChild)) {
+      return;
+    }
+    incModificationCount(event.getFile());
+  }
+
+  private void incModificationCount(@Nullable PsiFile psiFile) {
+    final VirtualFile virtualFile = null == psiFile ? null : psiFile.getVirtualFile();
+    if (null != virtualFile) {
+      getFileTracker(virtualFile).incModificationCount();
+    }
+    incModificationCount();
+  }
+
+  private static boolean isInsideCodeBlock(@Nullable PsiElement element) {
+    // a change inside of a local class changes the structure of this class
+    return null != element && null != PsiTreeUtil.getParentOfType(element, PsiCodeBlock.class, false, PsiClass.class);
+  }
+
+  private static boolean containsClass(@Nullable PsiElement element) {
+    return element instanceof PsiClass || null != PsiTreeUtil.findChildOfType(element, PsiClass.class);
+  }
+
+  @Override
+  public void dispose() {
+    //nothing to dispose, listener is removed together with this service
+  }
+}
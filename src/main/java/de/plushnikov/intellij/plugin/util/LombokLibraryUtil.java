@@ -4,18 +4,24 @@ import com.intellij.java.library.JavaLibraryUtil;
 import com.intellij.openapi.application.ReadAction;
 import com.intellij.openapi.diagnostic.Logger;
 import com.intellij.openapi.module.Module;
+import com.intellij.openapi.module.ModuleUtilCore;
 import com.intellij.openapi.progress.ProcessCanceledException;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.roots.OrderEntry;
 import com.intellij.openapi.roots.OrderEnumerator;
 import com.intellij.openapi.roots.OrderRootType;
 import com.intellij.openapi.roots.ProjectRootManager;
+import com.intellij.openapi.util.Key;
 import com.intellij.openapi.util.Ref;
+import com.intellij.openapi.util.UserDataHolder;
 import com.intellij.openapi.util.text.StringUtil;
 import com.intellij.openapi.vfs.JarFileSystem;
 import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.openapi.vfs.VirtualFileManager;
 import com.intellij.psi.JavaPsiFacade;
 import com.intellij.psi.PsiDirectory;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
 import com.intellij.psi.PsiPackage;
 import com.intellij.psi.util.CachedValueProvider.Result;
 import com.intellij.psi.util.CachedValuesManager;
@@ -26,52 +32,108 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.List;
+import java.util.function.BooleanSupplier;
 
 public final class LombokLibraryUtil {
 
   private static final String LOMBOK_PACKAGE = "lombok.experimental";
 
+  private static final Key<LombokPresence> LOMBOK_PRESENCE_KEY = Key.create("lombok.library.presence");
+
+  /**
+   * Cached answer about lombok presence, valid as long as the modification count (of project roots) is not changed
+   */
+  private record LombokPresence(boolean present, long modificationCount) {
+  }
+
   public static boolean hasLombokLibrary(@NotNull Project project) {
     if (project.isDefault() || !project.isInitialized()) {
       return false;
     }
 
     ThreadingAssertions.assertReadAccess();
-    return JavaLibraryUtil.hasLibraryJar(project, "org.projectlombok:lombok")
-           || detectLombokJarsSlow(project);
+    return getCachedPresence(project, getRootsModificationCount(project),
+                             () -> JavaLibraryUtil.hasLibraryJar(project, "org.projectlombok:lombok")
+                                   || detectLombokJarsSlow(OrderEnumerator.orderEntries(project)));
+  }
+
+  /**
+   * Checks presence of lombok library for the module of the given element.
+   * Elements without module (library sources, light elements) are checked on the project level only.
+   * The answer is cached per file, the module of a file changes only with the project roots or with moves of files
+   */
+  public static boolean hasLombokLibrary(@NotNull PsiElement element) {
+    final Project project = element.getProject();
+    if (!hasLombokLibrary(project)) {
+      return false;
+    }
+
+    final PsiFile psiFile = element.getContainingFile();
+    if (null == psiFile) {
+      return hasLombokLibraryInModuleOf(element);
+    }
+    final PsiFile originalFile = psiFile.getOriginalFile();
+    final long modificationCount = getRootsModificationCount(project) + VirtualFileManager.getInstance().getStructureModificationCount();
+    return getCachedPresence(originalFile, modificationCount, () -> hasLombokLibraryInModuleOf(originalFile));
+  }
+
+  private static boolean hasLombokLibraryInModuleOf(@NotNull PsiElement element) {
+    final Module module = ModuleUtilCore.findModuleForPsiElement(element);
+    return null == module || hasLombokLibrary(module);
+  }
+
+  public static boolean hasLombokLibrary(@NotNull Module module) {
+    if (module.isDisposed()) {
+      return false;
+    }
+    return getCachedPresence(module, getRootsModificationCount(module.getProject()),
+                             () -> JavaLibraryUtil.hasLibraryJar(module, "org.projectlombok:lombok")
+                                   || detectLombokJarsSlow(OrderEnumerator.orderEntries(module)));
   }
 
   public static boolean hasLombokClasses(@Nullable Module module) {
     return JavaLibraryUtil.hasLibraryClass(module, LombokClassNames.GETTER);
   }
 
-  private static boolean detectLombokJarsSlow(Project project) {
+  private static long getRootsModificationCount(@NotNull Project project) {
+    return ProjectRootManager.getInstance(project).getModificationCount();
+  }
+
+  private static boolean getCachedPresence(@NotNull UserDataHolder holder, long modificationCount,
+                                           @NotNull BooleanSupplier presenceSupplier) {
+    // lock-free fast path: immutable answer stored together with the modification count it was computed for
+    final LombokPresence cachedPresence = holder.getUserData(LOMBOK_PRESENCE_KEY);
+    if (null != cachedPresence && cachedPresence.modificationCount() == modificationCount) {
+      return cachedPresence.present();
+    }
+
+    final boolean present = presenceSupplier.getAsBoolean();
+    holder.putUserData(LOMBOK_PRESENCE_KEY, new LombokPresence(present, modificationCount));
+    return present;
+  }
+
+  private static boolean detectLombokJarsSlow(@NotNull OrderEnumerator orderEnumerator) {
     // it is required for JARs attached directly from disk
     // or via build systems that do not supply Maven coordinates properly via LibraryWithMavenCoordinatesProperties
-    return CachedValuesManager.getManager(project).getCachedValue(project, () -> {
-      OrderEnumerator orderEnumerator = OrderEnumerator.orderEntries(project);
-
-      Ref<Boolean> exists = new Ref<>(false);
-      orderEnumerator.recursively()
-        .forEachLibrary(library -> {
-          VirtualFile[] libraryFiles = library.getFiles(OrderRootType.CLASSES);
-          JarFileSystem jarFileSystem = JarFileSystem.getInstance();
-
-          for (VirtualFile libraryFile : libraryFiles) {
-            if (libraryFile.getFileSystem() != jarFileSystem) continue;
-
-            // look into every JAR for top level package entry
-            if (libraryFile.findChild("lombok") != null) {
-              exists.set(true);
-              return false;
-            }
-          }
+    Ref<Boolean> exists = new Ref<>(false);
+    orderEnumerator.recursively()
+      .forEachLibrary(library -> {
+        VirtualFile[] libraryFiles = library.getFiles(OrderRootType.CLASSES);
+        JarFileSystem jarFileSystem = JarFileSystem.getInstance();
 
-          return true;
-        });
+        for (VirtualFile libraryFile : libraryFiles) {
+          if (libraryFile.getFileSystem() != jarFileSystem) continue;
 
-      return Result.create(exists.get(), ProjectRootManager.getInstance(project));
-    });
+          // look into every JAR for top level package entry
+          if (libraryFile.findChild("lombok") != null) {
+            exists.set(true);
+            return false;
+          }
+        }
+
+        return true;
+      });
+    return exists.get();
   }
 
   public static @NotNull String getLombokVersionCached(@NotNull Project project) {
@@ -5,6 +5,7 @@ import com.intellij.openapi.util.Comparing;
 import com.intellij.psi.*;
 import com.intellij.psi.search.GlobalSearchScope;
 import com.intellij.psi.util.PsiUtil;
+import com.intellij.util.containers.ContainerUtil;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -72,4 +73,26 @@ public final class PsiTypeUtil {
     final PsiClass psiFieldClass = PsiUtil.resolveClassInType(psiType);
     return psiFieldClass != null ? psiFieldClass.getQualifiedName() : null;
   }
+
+  /**
+   * Checks if the type means the same at every place of the project: it contains only primitive types and resolved
+   * top level or member classes, but no type parameters or local classes
+   */
+  public static boolean isContextFreeType(@NotNull PsiType psiType) {
+    if (psiType instanceof PsiArrayType psiArrayType) {
+      return isContextFreeType(psiArrayType.getComponentType());
+    }
+    if (psiType instanceof PsiWildcardType psiWildcardType) {
+      final PsiType bound = psiWildcardType.getBound();
+      return null == bound || isContextFreeType(bound);
+    }
+    if (psiType instanceof PsiClassType psiClassType) {
+      final PsiClass psiClass = psiClassType.resolve();
+      if (null == psiClass || psiClass instanceof PsiTypeParameter || null == psiClass.getQualifiedName()) {
+        return false;
+      }
+      return ContainerUtil.and(psiClassType.getParameters(), PsiTypeUtil::isContextFreeType);
+    }
+    return psiType instanceof PsiPrimitiveType;
+  }
 }
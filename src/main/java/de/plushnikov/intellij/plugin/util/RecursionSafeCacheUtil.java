@@ -0,0 +1,46 @@
+package de.plushnikov.intellij.plugin.util;
+
+import com.intellij.openapi.util.RecursionGuard;
+import com.intellij.openapi.util.RecursionManager;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Lazily filled caches inside of cached values. A result computed while some recursion was prevented
+ * (see {@link RecursionManager#markStack()}) is returned but not stored, it may be incomplete.
+ * The first stored result is shared between threads.
+ */
+public final class RecursionSafeCacheUtil {
+
+  @NotNull
+  public static <T> T getOrCompute(@NotNull AtomicReference<T> reference, @NotNull Supplier<? extends T> computation) {
+    T result = reference.get();
+    if (null == result) {
+      final RecursionGuard.StackStamp stackStamp = RecursionManager.markStack();
+      result = computation.get();
+      if (stackStamp.mayCacheNow() && !reference.compareAndSet(null, result)) {
+        result = reference.get();
+      }
+    }
+    return result;
+  }
+
+  @NotNull
+  public static <K, V> V getOrCompute(@NotNull ConcurrentMap<K, V> cache, @NotNull K key, @NotNull Supplier<? extends V> computation) {
+    V result = cache.get(key);
+    if (null == result) {
+      final RecursionGuard.StackStamp stackStamp = RecursionManager.markStack();
+      result = computation.get();
+      if (stackStamp.mayCacheNow()) {
+        final V previous = cache.putIfAbsent(key, result);
+        if (null != previous) {
+          result = previous;
+        }
+      }
+    }
+    return result;
+  }
+}
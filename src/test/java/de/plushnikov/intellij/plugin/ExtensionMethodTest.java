@@ -1,16 +1,26 @@
 package de.plushnikov.intellij.plugin;
 
+import com.intellij.openapi.command.WriteCommandAction;
+import com.intellij.psi.JavaPsiFacade;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiClassType;
+import com.intellij.psi.PsiCodeBlock;
 import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiJavaFile;
 import com.intellij.psi.PsiMethod;
 import com.intellij.psi.PsiMethodCallExpression;
 import com.intellij.psi.PsiMethodReferenceExpression;
 import com.intellij.psi.util.PsiTreeUtil;
 import com.intellij.testFramework.LightJavaCodeInsightTestCase;
 import com.intellij.testFramework.LightProjectDescriptor;
+import de.plushnikov.intellij.plugin.processor.method.ExtensionMethodsHelper;
 
 import junit.framework.AssertionFailedError;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.Collection;
+import java.util.List;
+
 public class ExtensionMethodTest extends LightJavaCodeInsightTestCase {
 
   public void testBaseTypeExtensionMethod() {
@@ -31,6 +41,76 @@ public class ExtensionMethodTest extends LightJavaCodeInsightTestCase {
     checkMethod(createTestMethod("new String[0].asList();new Double[0][0].setAll(i -> i);"), true);
   }
 
+  public void testSameExtensionMethodWithDifferentReceiverTypes() {
+    final PsiMethod method = createTestMethod("new String[0].asList();new Integer[0].asList();new String[0].asList();");
+    final List<String> types = PsiTreeUtil.findChildrenOfType(method.getBody(), PsiMethodCallExpression.class).stream()
+      .map(expr -> expr.getType())
+      .map(type -> null == type ? null : type.getCanonicalText())
+      .toList();
+    assertEquals(List.of("java.util.List<java.lang.String>", "java.util.List<java.lang.Integer>", "java.util.List<java.lang.String>"), types);
+  }
+
+  public void testSameExtensionMethodWithTypeParametersOfDifferentMethods() {
+    final PsiFile file = createTestFile("<T extends Number> void first(List<T> list) { list.requireNonNullElse(list); }" +
+                                        "<T extends CharSequence> void second(List<T> list) { list.requireNonNullElse(list); }");
+    for (PsiMethodCallExpression callExpression : PsiTreeUtil.findChildrenOfType(file, PsiMethodCallExpression.class)) {
+      final PsiMethod containingMethod = PsiTreeUtil.getParentOfType(callExpression, PsiMethod.class);
+      assertNotNull(containingMethod);
+      final PsiClassType callType = assertInstanceOf(callExpression.getType(), PsiClassType.class);
+      final PsiClassType elementType = assertInstanceOf(callType.getParameters()[0], PsiClassType.class);
+      assertEquals(containingMethod.getTypeParameters()[0], elementType.resolve());
+    }
+  }
+
+  public void testExtensionProvidersOfNestedClass() {
+    final PsiFile file = createFile("test.java", "import java.util.*;" +
+                                                 "@lombok.experimental.ExtensionMethod(Objects.class) class Outer { " +
+                                                 "@lombok.experimental.ExtensionMethod(Arrays.class) class Inner {} }");
+    final PsiClass outerClass = ((PsiJavaFile)file).getClasses()[0];
+    final PsiClass innerClass = outerClass.getInnerClasses()[0];
+
+    assertEquals(List.of("java.util.Objects"), getQualifiedNames(ExtensionMethodsHelper.getExtensionProviders(outerClass)));
+    assertEquals(List.of("java.util.Arrays", "java.util.Objects"), getQualifiedNames(ExtensionMethodsHelper.getExtensionProviders(innerClass)));
+  }
+
+  public void testExtensionProvidersSurviveChangeInsideCodeBlock() {
+    final PsiFile file = createTestFile("void foo() {}");
+    final PsiClass psiClass = ((PsiJavaFile)file).getClasses()[0];
+    final Collection<PsiClass> providers = ExtensionMethodsHelper.getExtensionProviders(psiClass);
+
+    final PsiMethod fooMethod = psiClass.findMethodsByName("foo", false)[0];
+    WriteCommandAction.runWriteCommandAction(getProject(), () -> {
+      final PsiCodeBlock body = fooMethod.getBody();
+      assertNotNull(body);
+      body.add(JavaPsiFacade.getElementFactory(getProject()).createStatementFromText("int bar = 1;", body));
+    });
+    assertSame(providers, ExtensionMethodsHelper.getExtensionProviders(psiClass));
+  }
+
+  public void testResolvedExtensionMethodSurvivesChangeInsideCodeBlock() {
+    final PsiMethod method = createTestMethod("new String[0].asList();");
+    final PsiMethod extensionMethod = resolveFirstCall(method);
+
+    WriteCommandAction.runWriteCommandAction(getProject(), () -> {
+      final PsiCodeBlock body = method.getBody();
+      assertNotNull(body);
+      body.add(JavaPsiFacade.getElementFactory(getProject()).createStatementFromText("int bar = 1;", body));
+    });
+    assertSame(extensionMethod, resolveFirstCall(method));
+  }
+
+  private static PsiMethod resolveFirstCall(PsiMethod method) {
+    final PsiMethodCallExpression callExpression = PsiTreeUtil.findChildOfType(method.getBody(), PsiMethodCallExpression.class);
+    assertNotNull(callExpression);
+    final PsiMethod resolved = callExpression.resolveMethod();
+    assertNotNull(resolved);
+    return resolved;
+  }
+
+  private static List<String> getQualifiedNames(Collection<PsiClass> classes) {
+    return classes.stream().map(PsiClass::getQualifiedName).toList();
+  }
+
   private void checkMethod(final PsiMethod method, final boolean successful) {
     if (!PsiTreeUtil.findChildrenOfAnyType(method.getBody(), PsiMethodCallExpression.class, PsiMethodReferenceExpression.class).stream()
       .allMatch(expr -> successful == (expr instanceof PsiMethodReferenceExpression ? ((PsiMethodReferenceExpression) expr).resolve() != null : expr.getType() != null)))
@@ -0,0 +1,69 @@
+package de.plushnikov.intellij.plugin.action.delombok;
+
+import com.intellij.openapi.application.WriteAction;
+import com.intellij.openapi.progress.EmptyProgressIndicator;
+import com.intellij.openapi.util.io.FileUtil;
+import com.intellij.openapi.util.io.IoTestUtil;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiFile;
+import de.plushnikov.intellij.plugin.AbstractLombokLightCodeInsightTestCase;
+import de.plushnikov.intellij.plugin.LombokClassNames;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Set;
+
+public class DelombokApplicationStarterTest extends AbstractLombokLightCodeInsightTestCase {
+
+  public void testDelombokReadOnlySourcesInMemory() throws IOException {
+    final PsiFile lombokFile = myFixture.addFileToProject("headless/pkg/Foo.java", """
+      package pkg;
+      @lombok.Getter
+      public class Foo {
+        private int bar;
+      }""");
+    final String lombokText = lombokFile.getText();
+    final VirtualFile virtualFile = lombokFile.getVirtualFile();
+    WriteAction.run(() -> virtualFile.setWritable(false));
+
+    final VirtualFile sourceDirectory = virtualFile.getParent().getParent();
+    final Map<String, String> texts =
+      DelombokApplicationStarter.delombokInMemory(getProject(), sourceDirectory, new EmptyProgressIndicator());
+
+    assertEquals(Set.of("pkg/Foo.java"), texts.keySet());
+    assertTrue(texts.get("pkg/Foo.java").contains("public int getBar()"));
+    assertFalse(texts.get("pkg/Foo.java").contains(LombokClassNames.GETTER));
+
+    // the sources stay unchanged and read-only
+    assertEquals(lombokText, lombokFile.getText());
+    assertFalse(virtualFile.isWritable());
+  }
+
+  public void testWriteOutputFollowsSymbolicLinks() throws IOException {
+    IoTestUtil.assumeSymLinkCreationIsSupported();
+
+    final Path baseDirectory = FileUtil.createTempDirectory("delombok", null).toPath();
+    try {
+      final Path realSources = Files.createDirectories(baseDirectory.resolve("real"));
+      Files.writeString(realSources.resolve("Foo.java"), "class Foo {}");
+      Files.writeString(realSources.resolve("readme.txt"), "unchanged");
+      final Path otherSources = Files.createDirectories(baseDirectory.resolve("other"));
+      Files.writeString(otherSources.resolve("Bar.java"), "class Bar {}");
+      Files.createSymbolicLink(realSources.resolve("sub"), otherSources);
+      final Path linkedSources = Files.createSymbolicLink(baseDirectory.resolve("linked"), realSources);
+
+      final Path outputPath = baseDirectory.resolve("output");
+      DelombokApplicationStarter.writeOutput(linkedSources, outputPath, Map.of("Foo.java", "class Foo { void foo() {} }",
+                                                                               "sub/Bar.java", "class Bar { void bar() {} }"));
+
+      assertEquals("class Foo { void foo() {} }", Files.readString(outputPath.resolve("Foo.java")));
+      assertEquals("class Bar { void bar() {} }", Files.readString(outputPath.resolve("sub/Bar.java")));
+      assertEquals("unchanged", Files.readString(outputPath.resolve("readme.txt")));
+    }
+    finally {
+      FileUtil.delete(baseDirectory);
+    }
+  }
+}
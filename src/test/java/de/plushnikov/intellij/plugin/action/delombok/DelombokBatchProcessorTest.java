@@ -0,0 +1,40 @@
+package de.plushnikov.intellij.plugin.action.delombok;
+
+import com.intellij.openapi.progress.EmptyProgressIndicator;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiFile;
+import de.plushnikov.intellij.plugin.AbstractLombokLightCodeInsightTestCase;
+import de.plushnikov.intellij.plugin.LombokClassNames;
+import de.plushnikov.intellij.plugin.processor.LombokProcessorManager;
+
+import java.util.List;
+
+public class DelombokBatchProcessorTest extends AbstractLombokLightCodeInsightTestCase {
+
+  public void testProcessDirectory() {
+    final PsiFile lombokFile = myFixture.addFileToProject("batch/Foo.java", """
+      package batch;
+      @lombok.Getter
+      public class Foo {
+        private int bar;
+      }""");
+    final PsiFile plainFile = myFixture.addFileToProject("batch/Plain.java", """
+      package batch;
+      public class Plain {
+        private int bar;
+      }""");
+    final String plainText = plainFile.getText();
+
+    final LombokProcessorManager manager = LombokProcessorManager.getInstance();
+    final DelombokHandler handler = new DelombokHandler(manager.getGetterProcessor(), manager.getGetterFieldProcessor());
+    final DelombokBatchProcessor batchProcessor = new DelombokBatchProcessor(getProject(), handler, "Delombok");
+    final VirtualFile directory = lombokFile.getVirtualFile().getParent();
+
+    final List<VirtualFile> processedFiles = batchProcessor.process(List.of(directory), new EmptyProgressIndicator());
+
+    assertEquals(List.of(lombokFile.getVirtualFile()), processedFiles);
+    assertFalse(lombokFile.getText().contains(LombokClassNames.GETTER));
+    assertTrue(lombokFile.getText().contains("public int getBar()"));
+    assertEquals(plainText, plainFile.getText());
+  }
+}
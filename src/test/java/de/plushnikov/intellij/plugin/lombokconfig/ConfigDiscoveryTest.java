@@ -1,139 +1,106 @@
 package de.plushnikov.intellij.plugin.lombokconfig;
 
-import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.psi.PsiClass;
-import com.intellij.psi.PsiFile;
-import com.intellij.psi.search.GlobalSearchScope;
-import com.intellij.testFramework.TestApplicationManager;
-import com.intellij.util.indexing.FileBasedIndex;
+import com.intellij.psi.PsiJavaFile;
+import de.plushnikov.intellij.plugin.AbstractLombokLightCodeInsightTestCase;
 import org.jetbrains.annotations.NotNull;
-import org.junit.Before;
-import org.junit.Test;
-import org.junit.runner.RunWith;
-import org.mockito.Mock;
-import org.mockito.junit.MockitoJUnitRunner;
 
 import java.util.Collection;
-import java.util.Collections;
-import java.util.List;
 
-import static org.hamcrest.CoreMatchers.hasItems;
-import static org.junit.Assert.*;
-import static org.mockito.ArgumentMatchers.*;
-import static org.mockito.Mockito.when;
-
-@RunWith(MockitoJUnitRunner.class)
-public class ConfigDiscoveryTest {
+public class ConfigDiscoveryTest extends AbstractLombokLightCodeInsightTestCase {
 
   private static final String EXPECTED_VALUE = "xyz";
   private ConfigDiscovery discovery;
 
-  @Mock
-  private FileBasedIndex fileBasedIndex;
-
-  @Mock
-  private MyProject project;
-  @Mock
-  private PsiClass psiClass;
-  @Mock
-  private PsiFile psiFile;
-  @Mock
-  private VirtualFile virtualFile;
-  @Mock
-  private VirtualFile parentVirtualFile;
-  @Mock
-  private VirtualFile parentParVirtualFile;
-  @Mock
-  private VirtualFile parentParParVirtualFile;
-  @Mock
-  private VirtualFile parentParParParVirtualFile;
-
-  @Before
-  public void setUp() {
-    TestApplicationManager.getInstance();
-    discovery = new ConfigDiscovery() {
-      @Override
-      protected FileBasedIndex getFileBasedIndex() {
-        return fileBasedIndex;
-      }
-
-      @Override
-      protected @NotNull Collection<String> discoverPropertyWithCache(@NotNull ConfigKey configKey,
-                                                                      @NotNull PsiFile psiFile) {
-        return super.discoverProperty(configKey, psiFile);
-      }
-    };
-
-    when(psiFile.getProject()).thenReturn(project);
-    when(psiClass.getContainingFile()).thenReturn(psiFile);
-    when(psiFile.getOriginalFile()).thenReturn(psiFile);
-    when(psiFile.getVirtualFile()).thenReturn(virtualFile);
-    when(virtualFile.getParent()).thenReturn(parentVirtualFile);
-    when(parentVirtualFile.getParent()).thenReturn(parentParVirtualFile);
-    when(parentParVirtualFile.getParent()).thenReturn(parentParParVirtualFile);
-    when(parentParParVirtualFile.getParent()).thenReturn(parentParParParVirtualFile);
+  @Override
+  public void setUp() throws Exception {
+    super.setUp();
+    discovery = ConfigDiscovery.getInstance();
+  }
+
+  @NotNull
+  private PsiClass createClass() {
+    final PsiJavaFile javaFile = (PsiJavaFile)myFixture.addFileToProject("a/b/c/d/Foo.java", "package a.b.c.d; public class Foo {}");
+    return javaFile.getClasses()[0];
+  }
+
+  private void addConfig(@NotNull String directory, @NotNull String text) {
+    myFixture.addFileToProject(directory + "/lombok.config", text);
   }
 
-  @Test
   public void testDefaultStringConfigProperties() {
-    final String property = discovery.getStringLombokConfigProperty(ConfigKey.ACCESSORS_CHAIN, psiClass);
+    final String property = discovery.getStringLombokConfigProperty(ConfigKey.ACCESSORS_CHAIN, createClass());
     assertNotNull(property);
     assertEquals(ConfigKey.ACCESSORS_CHAIN.getConfigDefaultValue(), property);
   }
 
-  @Test
   public void testStringConfigPropertySameDirectory() {
-    final ConfigKey configKey = ConfigKey.ACCESSORS_CHAIN;
-    when(fileBasedIndex.getValues(eq(LombokConfigIndex.NAME), eq(configKey), isA(GlobalSearchScope.class)))
-      .thenReturn(makeValue(EXPECTED_VALUE));
+    addConfig("a/b/c/d", "lombok.accessors.chain = " + EXPECTED_VALUE);
 
-    final String property = discovery.getStringLombokConfigProperty(configKey, psiClass);
-    assertNotNull(property);
+    final String property = discovery.getStringLombokConfigProperty(ConfigKey.ACCESSORS_CHAIN, createClass());
     assertEquals(EXPECTED_VALUE, property);
   }
 
-  @Test
   public void testStringConfigPropertySubDirectory() {
-    final ConfigKey configKey = ConfigKey.ACCESSORS_CHAIN;
-    when(fileBasedIndex.getValues(eq(LombokConfigIndex.NAME), eq(configKey), isA(GlobalSearchScope.class)))
-      .thenReturn(makeValue(EXPECTED_VALUE));
+    addConfig("a/b", "lombok.accessors.chain = " + EXPECTED_VALUE);
+    addConfig("a/b/c", "lombok.accessors.fluent = true");
 
-    final String property = discovery.getStringLombokConfigProperty(configKey, psiClass);
-    assertNotNull(property);
+    final String property = discovery.getStringLombokConfigProperty(ConfigKey.ACCESSORS_CHAIN, createClass());
+    assertEquals(EXPECTED_VALUE, property);
+  }
+
+  public void testStringConfigPropertyOverriddenInSubDirectory() {
+    addConfig("a", "lombok.accessors.chain = abc");
+    addConfig("a/b/c", "lombok.accessors.chain = " + EXPECTED_VALUE);
+
+    final String property = discovery.getStringLombokConfigProperty(ConfigKey.ACCESSORS_CHAIN, createClass());
     assertEquals(EXPECTED_VALUE, property);
   }
 
-  @Test
   public void testStringConfigPropertySubDirectoryStopBubbling() {
     final ConfigKey configKey = ConfigKey.ACCESSORS_CHAIN;
+    addConfig("a", "lombok.accessors.chain = " + EXPECTED_VALUE);
+    addConfig("a/b/c", "config.stopBubbling = true");
 
-    final String property = discovery.getStringLombokConfigProperty(configKey, psiClass);
-    assertNotNull(property);
+    final String property = discovery.getStringLombokConfigProperty(configKey, createClass());
     assertEquals(configKey.getConfigDefaultValue(), property);
   }
 
-  @Test
   public void testMultipleStringConfigProperty() {
-    final ConfigKey configKey = ConfigKey.ACCESSORS_PREFIX;
-    when(fileBasedIndex.getValues(eq(LombokConfigIndex.NAME), eq(configKey), any(GlobalSearchScope.class)))
-      .thenReturn(makeValue("+_d;"), Collections.emptyList(), makeValue("-a;+cc"), makeValue("+a;+b"));
+    addConfig("a", "lombok.accessors.prefix += a\nlombok.accessors.prefix += b");
+    addConfig("a/b", "lombok.accessors.prefix -= a\nlombok.accessors.prefix += cc");
+    addConfig("a/b/c", "lombok.accessors.chain = true");
+    addConfig("a/b/c/d", "lombok.accessors.prefix += _d");
 
-    final Collection<String> properties = discovery.getMultipleValueLombokConfigProperty(configKey, psiClass);
-    assertThat(properties, hasItems("b", "cc", "_d"));
+    final Collection<String> properties = discovery.getMultipleValueLombokConfigProperty(ConfigKey.ACCESSORS_PREFIX, createClass());
+    assertSameElements(properties, "b", "cc", "_d");
   }
 
-  @NotNull
-  private static List<ConfigValue> makeValue(String value) {
-    return Collections.singletonList(new ConfigValue(value, false));
+  public void testMultipleStringConfigPropertyWithStopBubbling() {
+    addConfig("a", "lombok.accessors.prefix += a");
+    addConfig("a/b/c/d", "config.stopBubbling = true\nlombok.accessors.prefix += _d");
+
+    final Collection<String> properties = discovery.getMultipleValueLombokConfigProperty(ConfigKey.ACCESSORS_PREFIX, createClass());
+    assertSameElements(properties, "_d");
   }
 
-  @Test
-  public void testMultipleStringConfigPropertyWithStopBubbling() {
-    final ConfigKey configKey = ConfigKey.ACCESSORS_PREFIX;
-    when(fileBasedIndex.getValues(eq(LombokConfigIndex.NAME), eq(configKey), isA(GlobalSearchScope.class)))
-      .thenReturn(makeValue("+_d;"));
+  public void testConfigChangeIsVisible() {
+    final PsiClass psiClass = createClass();
+    assertEquals(ConfigKey.ACCESSORS_CHAIN.getConfigDefaultValue(),
+                 discovery.getStringLombokConfigProperty(ConfigKey.ACCESSORS_CHAIN, psiClass));
+
+    addConfig("a/b", "lombok.accessors.chain = " + EXPECTED_VALUE);
+    assertEquals(EXPECTED_VALUE, discovery.getStringLombokConfigProperty(ConfigKey.ACCESSORS_CHAIN, psiClass));
+  }
+
+  public void testFilesOfDirectoryShareConfig() {
+    addConfig("a/b", "lombok.accessors.prefix += _d");
+    final PsiClass firstClass = createClass();
+    final PsiClass secondClass = ((PsiJavaFile)myFixture.addFileToProject("a/b/c/d/Bar.java", "package a.b.c.d; public class Bar {}")).getClasses()[0];
 
-    final Collection<String> properties = discovery.getMultipleValueLombokConfigProperty(configKey, psiClass);
-    assertThat(properties, hasItems("_d"));
+    final Collection<String> firstProperties = discovery.getMultipleValueLombokConfigProperty(ConfigKey.ACCESSORS_PREFIX, firstClass);
+    final Collection<String> secondProperties = discovery.getMultipleValueLombokConfigProperty(ConfigKey.ACCESSORS_PREFIX, secondClass);
+    assertSameElements(firstProperties, "_d");
+    assertSame(firstProperties, secondProperties);
   }
 }
@@ -0,0 +1,50 @@
+package de.plushnikov.intellij.plugin.lombokconfig;
+
+import com.intellij.openapi.application.WriteAction;
+import com.intellij.openapi.util.ModificationTracker;
+import com.intellij.openapi.vfs.VirtualFile;
+import de.plushnikov.intellij.plugin.AbstractLombokLightCodeInsightTestCase;
+
+public class LombokConfigChangeListenerTest extends AbstractLombokLightCodeInsightTestCase {
+
+  public void testConfigChangeIsScopedToSubtree() {
+    final VirtualFile serviceAFile = myFixture.addFileToProject("serviceA/a/Foo.java", "package a; class Foo {}").getVirtualFile();
+    final VirtualFile serviceBFile = myFixture.addFileToProject("serviceB/b/Bar.java", "package b; class Bar {}").getVirtualFile();
+
+    final ModificationTracker serviceATracker = LombokConfigChangeListener.getConfigChangeTracker(serviceAFile);
+    final ModificationTracker serviceBTracker = LombokConfigChangeListener.getConfigChangeTracker(serviceBFile);
+    final long serviceACount = serviceATracker.getModificationCount();
+    final long serviceBCount = serviceBTracker.getModificationCount();
+    final long globalCount = LombokConfigChangeListener.CONFIG_CHANGE_TRACKER.getModificationCount();
+
+    myFixture.addFileToProject("serviceA/lombok.config", "lombok.accessors.chain = true");
+
+    assertTrue(serviceATracker.getModificationCount() > serviceACount);
+    assertEquals(serviceBCount, serviceBTracker.getModificationCount());
+    assertTrue(LombokConfigChangeListener.CONFIG_CHANGE_TRACKER.getModificationCount() > globalCount);
+  }
+
+  public void testConfigChangeInParentDirectory() {
+    final VirtualFile file = myFixture.addFileToProject("serviceA/a/b/Foo.java", "package a.b; class Foo {}").getVirtualFile();
+
+    final ModificationTracker tracker = LombokConfigChangeListener.getConfigChangeTracker(file);
+    final long count = tracker.getModificationCount();
+
+    myFixture.addFileToProject("lombok.config", "lombok.accessors.chain = true");
+
+    assertTrue(tracker.getModificationCount() > count);
+  }
+
+  public void testPruningOfDeletedDirectoryNeverDecreasesTrackers() throws Exception {
+    final VirtualFile file = myFixture.addFileToProject("serviceA/Foo.java", "class Foo {}").getVirtualFile();
+    final VirtualFile configFile =
+      myFixture.addFileToProject("serviceA/sub/lombok.config", "lombok.accessors.chain = true").getVirtualFile();
+
+    final ModificationTracker tracker = LombokConfigChangeListener.getConfigChangeTracker(file);
+    final long count = tracker.getModificationCount();
+
+    WriteAction.runAndWait(() -> configFile.getParent().delete(this));
+
+    assertTrue(tracker.getModificationCount() > count);
+  }
+}
@@ -0,0 +1,30 @@
+package de.plushnikov.intellij.plugin.lombokconfig;
+
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.util.indexing.FileBasedIndex;
+import de.plushnikov.intellij.plugin.AbstractLombokLightCodeInsightTestCase;
+
+import java.util.Map;
+
+public class LombokConfigIndexTest extends AbstractLombokLightCodeInsightTestCase {
+
+  public void testOnlyDeclaredKeysAreIndexed() {
+    final VirtualFile configFile = myFixture.addFileToProject("a/lombok.config", """
+      config.stopBubbling = true
+      lombok.accessors.chain = true
+      lombok.accessors.prefix += m_
+      lombok.accessors.prefix -= f
+      unknown.key = value
+      """).getVirtualFile();
+
+    final Map<String, ConfigValues> fileData = FileBasedIndex.getInstance().getFileData(LombokConfigIndex.NAME, configFile, getProject());
+    assertEquals(1, fileData.size());
+
+    final ConfigValues configValues = fileData.values().iterator().next();
+    assertTrue(configValues.isStopBubbling());
+    assertSameElements(configValues.getValues().keySet(),
+                       ConfigKey.CONFIG_STOP_BUBBLING, ConfigKey.ACCESSORS_CHAIN, ConfigKey.ACCESSORS_PREFIX);
+    assertEquals("true", configValues.getValues().get(ConfigKey.ACCESSORS_CHAIN));
+    assertEquals("+m_;-f;", configValues.getValues().get(ConfigKey.ACCESSORS_PREFIX));
+  }
+}
@@ -0,0 +1,135 @@
+package de.plushnikov.intellij.plugin.performance;
+
+import com.intellij.codeInsight.daemon.impl.HighlightInfo;
+import com.intellij.lang.annotation.HighlightSeverity;
+import com.intellij.openapi.application.WriteAction;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.fileEditor.FileEditorManager;
+import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.augment.PsiAugmentProvider;
+import de.plushnikov.intellij.plugin.AbstractLombokLightCodeInsightTestCase;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Highlights a sample of files of growing synthetic projects, checks that they are highlighted without errors
+ * and logs highlighting time, number of augment calls and heap retained by every project size step.
+ * Every step is generated into its own root directory, which is deleted after the step, so each step measures a project
+ * of the given size only. Sizes are configured by the system property {@code lombok.performance.sizes},
+ * e.g. {@code 100,1000,5000,20000}.
+ * The sweep is not a part of the regular test run, it is only executed by gradle if the property is set.
+ */
+public class ScalabilityPerformanceTest extends AbstractLombokLightCodeInsightTestCase {
+  private static final Logger LOG = Logger.getInstance(ScalabilityPerformanceTest.class);
+
+  private static final String SIZES_PROPERTY = "lombok.performance.sizes";
+  private static final String DEFAULT_SIZES = "100,500";
+  private static final int FIELDS_PER_CLASS = 10;
+  private static final int HIGHLIGHTED_FILES_PER_STEP = 20;
+
+  private record StepResult(int classCount, long generationMillis, long highlightingMillis, long augmentCalls,
+                            long retainedBytes) {
+    @Override
+    public String toString() {
+      return String.format("%8d classes | generation %7d ms | highlighting %7d ms | augment calls %10d | retained %8d KB",
+                           classCount, generationMillis, highlightingMillis, augmentCalls, retainedBytes / 1024);
+    }
+  }
+
+  private static final class CountingAugmentProvider extends PsiAugmentProvider {
+    private final AtomicLong myCalls = new AtomicLong();
+
+    @NotNull
+    @Override
+    public <Psi extends PsiElement> List<Psi> getAugments(@NotNull PsiElement element,
+                                                          @NotNull Class<Psi> type,
+                                                          @Nullable String nameHint) {
+      myCalls.incrementAndGet();
+      return Collections.emptyList();
+    }
+  }
+
+  public void testScalability() throws IOException {
+    final CountingAugmentProvider countingProvider = new CountingAugmentProvider();
+    PsiAugmentProvider.EP_NAME.getPoint().registerExtension(countingProvider, getTestRootDisposable());
+
+    final List<StepResult> results = new ArrayList<>();
+    for (String size : System.getProperty(SIZES_PROPERTY, DEFAULT_SIZES).split(",")) {
+      final int classCount = Integer.parseInt(size.trim());
+      results.add(runStep(classCount, countingProvider));
+    }
+
+    LOG.info("Lombok scalability, " + FIELDS_PER_CLASS + " fields per class:\n" + StringUtil.join(results, "\n"));
+  }
+
+  private StepResult runStep(int classCount, @NotNull CountingAugmentProvider countingProvider) throws IOException {
+    final String rootPackage = "step" + classCount;
+    try {
+      return measureStep(classCount, rootPackage, countingProvider);
+    }
+    finally {
+      deleteStepFiles(rootPackage);
+    }
+  }
+
+  private StepResult measureStep(int classCount, @NotNull String rootPackage, @NotNull CountingAugmentProvider countingProvider) {
+    final long usedBefore = usedMemoryAfterGc();
+
+    final long generationStart = System.nanoTime();
+    final List<SyntheticProjectGenerator.SyntheticFile> files = new SyntheticProjectGenerator(classCount, FIELDS_PER_CLASS)
+      .withPackages(Math.max(1, classCount / 100), 3)
+      .generate(rootPackage);
+
+    final List<VirtualFile> javaFiles = new ArrayList<>();
+    for (SyntheticProjectGenerator.SyntheticFile file : files) {
+      final PsiFile psiFile = myFixture.addFileToProject(file.relativePath(), file.text());
+      if (file.relativePath().endsWith(".java") && file.kind() != SyntheticProjectGenerator.ClassKind.PLAIN) {
+        javaFiles.add(psiFile.getVirtualFile());
+      }
+    }
+    final long generationMillis = (System.nanoTime() - generationStart) / 1_000_000;
+
+    countingProvider.myCalls.set(0);
+    final long highlightingStart = System.nanoTime();
+    final int step = Math.max(1, javaFiles.size() / HIGHLIGHTED_FILES_PER_STEP);
+    for (int index = 0; index < javaFiles.size(); index += step) {
+      myFixture.configureFromExistingVirtualFile(javaFiles.get(index));
+      final List<HighlightInfo> errors = myFixture.doHighlighting(HighlightSeverity.ERROR);
+      assertEmpty(javaFiles.get(index).getPath(), errors);
+    }
+    final long highlightingMillis = (System.nanoTime() - highlightingStart) / 1_000_000;
+    final long augmentCalls = countingProvider.myCalls.get();
+    assertTrue("Augment providers were not called for " + classCount + " classes", augmentCalls > 0);
+
+    final long retainedBytes = Math.max(0, usedMemoryAfterGc() - usedBefore);
+    return new StepResult(classCount, generationMillis, highlightingMillis, augmentCalls, retainedBytes);
+  }
+
+  private void deleteStepFiles(@NotNull String rootPackage) throws IOException {
+    final FileEditorManager editorManager = FileEditorManager.getInstance(getProject());
+    for (VirtualFile openFile : editorManager.getOpenFiles()) {
+      editorManager.closeFile(openFile);
+    }
+    final VirtualFile rootDirectory = myFixture.findFileInTempDir(rootPackage);
+    if (null != rootDirectory) {
+      WriteAction.run(() -> rootDirectory.delete(this));
+    }
+  }
+
+  private static long usedMemoryAfterGc() {
+    final Runtime runtime = Runtime.getRuntime();
+    for (int i = 0; i < 3; i++) {
+      System.gc();
+    }
+    return runtime.totalMemory() - runtime.freeMemory();
+  }
+}
@@ -0,0 +1,266 @@
+package de.plushnikov.intellij.plugin.performance;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Generates sources of a synthetic project with a configurable number of classes, fields per class
+ * and a mix of lombok features, used to check how the plugin scales with the size of the project.
+ */
+public final class SyntheticProjectGenerator {
+
+  public enum ClassKind {
+    DATA, BUILDER, SUPER_BUILDER, DELEGATE, EXTENSION_METHOD, VAL, PLAIN
+  }
+
+  public record SyntheticFile(@NotNull String relativePath, @NotNull String text, @NotNull ClassKind kind) {
+  }
+
+  private final int myClassCount;
+  private final int myFieldsPerClass;
+
+  private int myDataPercent = 30;
+  private int myBuilderPercent = 15;
+  private int mySuperBuilderPercent = 10;
+  private int myDelegatePercent = 5;
+  private int myExtensionMethodPercent = 5;
+  private int myValPercent = 15;
+
+  private int mySuperBuilderDepth = 4;
+  private int myPackageCount = 10;
+  private int myConfigDepth = 2;
+
+  public SyntheticProjectGenerator(int classCount, int fieldsPerClass) {
+    myClassCount = classCount;
+    myFieldsPerClass = fieldsPerClass;
+  }
+
+  /**
+   * Percentages of classes of every kind, rest of the classes is generated without any lombok annotations
+   */
+  public SyntheticProjectGenerator withMix(int dataPercent, int builderPercent, int superBuilderPercent,
+                                           int delegatePercent, int extensionMethodPercent, int valPercent) {
+    if (dataPercent + builderPercent + superBuilderPercent + delegatePercent + extensionMethodPercent + valPercent > 100) {
+      throw new IllegalArgumentException("Sum of all percentages should not exceed 100");
+    }
+    myDataPercent = dataPercent;
+    myBuilderPercent = builderPercent;
+    mySuperBuilderPercent = superBuilderPercent;
+    myDelegatePercent = delegatePercent;
+    myExtensionMethodPercent = extensionMethodPercent;
+    myValPercent = valPercent;
+    return this;
+  }
+
+  /**
+   * Maximal length of generated {@code @SuperBuilder} inheritance chains
+   */
+  public SyntheticProjectGenerator withSuperBuilderDepth(int superBuilderDepth) {
+    mySuperBuilderDepth = Math.max(1, superBuilderDepth);
+    return this;
+  }
+
+  /**
+   * Classes are spread over the given number of packages, every package is nested {@code configDepth} levels deep
+   * with a lombok.config file on every level
+   */
+  public SyntheticProjectGenerator withPackages(int packageCount, int configDepth) {
+    myPackageCount = Math.max(1, packageCount);
+    myConfigDepth = Math.max(0, configDepth);
+    return this;
+  }
+
+  @NotNull
+  public List<SyntheticFile> generate(@NotNull String rootPackage) {
+    final List<SyntheticFile> result = new ArrayList<>();
+    final String rootPath = rootPackage.replace('.', '/');
+
+    result.add(new SyntheticFile(rootPath + "/lombok.config", "config.stopBubbling = true\nlombok.accessors.chain = true\n",
+                                 ClassKind.PLAIN));
+    result.add(new SyntheticFile(rootPath + "/Extensions.java", generateExtensions(rootPackage), ClassKind.PLAIN));
+
+    for (int packageIndex = 0; packageIndex < myPackageCount; packageIndex++) {
+      StringBuilder packagePath = new StringBuilder(rootPath).append("/p").append(packageIndex);
+      for (int level = 0; level < myConfigDepth; level++) {
+        packagePath.append("/l").append(level);
+        result.add(new SyntheticFile(packagePath + "/lombok.config", generateConfig(packageIndex, level), ClassKind.PLAIN));
+      }
+    }
+
+    int superBuilderLevel = 0;
+    String previousSuperBuilderClass = null;
+    String previousClass = null;
+    for (int classIndex = 0; classIndex < myClassCount; classIndex++) {
+      final ClassKind kind = kindOf(classIndex);
+      final String packageName = packageOf(rootPackage, classIndex);
+      final String className = kind.name().charAt(0) + kind.name().substring(1).toLowerCase().replace("_", "") + classIndex;
+
+      final String text;
+      switch (kind) {
+        case DATA -> text = generateDataClass(packageName, className, previousClass);
+        case BUILDER -> text = generateBuilderClass(packageName, className);
+        case SUPER_BUILDER -> {
+          final String superClass = superBuilderLevel > 0 ? previousSuperBuilderClass : null;
+          text = generateSuperBuilderClass(packageName, className, superClass);
+          previousSuperBuilderClass = packageName + "." + className;
+          superBuilderLevel = (superBuilderLevel + 1) % mySuperBuilderDepth;
+        }
+        case DELEGATE -> text = generateDelegateClass(packageName, className);
+        case EXTENSION_METHOD -> text = generateExtensionMethodClass(packageName, className, rootPackage);
+        case VAL -> text = generateValClass(packageName, className);
+        default -> text = generatePlainClass(packageName, className);
+      }
+      result.add(new SyntheticFile(packageName.replace('.', '/') + "/" + className + ".java", text, kind));
+
+      if (kind == ClassKind.DATA) {
+        previousClass = packageName + "." + className;
+      }
+    }
+    return result;
+  }
+
+  private ClassKind kindOf(int classIndex) {
+    int percentile = classIndex % 100;
+    int[] percents = {myDataPercent, myBuilderPercent, mySuperBuilderPercent, myDelegatePercent, myExtensionMethodPercent, myValPercent};
+    for (int kindIndex = 0; kindIndex < percents.length; kindIndex++) {
+      if (percentile < percents[kindIndex]) {
+        return ClassKind.values()[kindIndex];
+      }
+      percentile -= percents[kindIndex];
+    }
+    return ClassKind.PLAIN;
+  }
+
+  private String packageOf(String rootPackage, int classIndex) {
+    StringBuilder result = new StringBuilder(rootPackage).append(".p").append(classIndex % myPackageCount);
+    for (int level = 0; level < myConfigDepth; level++) {
+      result.append(".l").append(level);
+    }
+    return result.toString();
+  }
+
+  private static String generateConfig(int packageIndex, int level) {
+    StringBuilder result = new StringBuilder();
+    result.append("lombok.accessors.prefix += p").append(level).append('\n');
+    if (packageIndex % 2 == 0) {
+      result.append("lombok.fieldDefaults.defaultPrivate = true\n");
+    }
+    if (level % 2 == 1) {
+      result.append("lombok.toString.includeFieldNames = false\n");
+    }
+    return result.toString();
+  }
+
+  private static String generateExtensions(String rootPackage) {
+    return """
+      package %s;
+      public class Extensions {
+        public static String twice(String in) { return in + in; }
+        public static int doubled(Integer in) { return in * 2; }
+        public static <T> java.util.List<T> listOf(T in) { return java.util.Collections.singletonList(in); }
+      }
+      """.formatted(rootPackage);
+  }
+
+  /**
+   * Classes are generated on the deepest package level only, so their fields carry the accessor prefix of this level.
+   * The prefix is removed by lombok again, so all accessors and builder methods are named {@code field<index>}
+   */
+  private String fieldName(String name) {
+    if (myConfigDepth == 0) {
+      return name;
+    }
+    return "p" + (myConfigDepth - 1) + Character.toUpperCase(name.charAt(0)) + name.substring(1);
+  }
+
+  private void appendFields(StringBuilder text, String prefix) {
+    for (int fieldIndex = 0; fieldIndex < myFieldsPerClass; fieldIndex++) {
+      text.append("  ").append(prefix).append(fieldIndex % 3 == 0 ? "int" : "String")
+        .append(' ').append(fieldName("field" + fieldIndex)).append(";\n");
+    }
+  }
+
+  private String generateDataClass(String packageName, String className, String previousClass) {
+    StringBuilder text = new StringBuilder("package ").append(packageName).append(";\n");
+    text.append("@lombok.Data\npublic class ").append(className).append(" {\n");
+    appendFields(text, "private ");
+    if (null != previousClass && myFieldsPerClass > 1) {
+      text.append("  public String usePrevious(").append(previousClass).append(" other) {\n")
+        .append("    return other.getField1() + other.toString() + other.hashCode();\n  }\n");
+    }
+    if (myFieldsPerClass > 1) {
+      text.append("  public String useOwn() {\n    return getField1() + toString();\n  }\n");
+    }
+    return text.append("}\n").toString();
+  }
+
+  private String generateBuilderClass(String packageName, String className) {
+    StringBuilder text = new StringBuilder("package ").append(packageName).append(";\n");
+    text.append("@lombok.Builder(toBuilder = true)\n@lombok.Getter\npublic class ").append(className).append(" {\n");
+    appendFields(text, "private ");
+    text.append("  @lombok.Singular private java.util.List<String> ").append(fieldName("items")).append(";\n");
+    text.append("  public static ").append(className).append(" create() {\n    return builder()");
+    for (int fieldIndex = 0; fieldIndex < Math.min(myFieldsPerClass, 5); fieldIndex++) {
+      text.append(".field").append(fieldIndex).append(fieldIndex % 3 == 0 ? "(1)" : "(\"a\")");
+    }
+    text.append(".item(\"x\").build();\n  }\n");
+    return text.append("}\n").toString();
+  }
+
+  private String generateSuperBuilderClass(String packageName, String className, String superClass) {
+    StringBuilder text = new StringBuilder("package ").append(packageName).append(";\n");
+    text.append("@lombok.experimental.SuperBuilder\n@lombok.Getter\npublic class ").append(className);
+    if (null != superClass) {
+      text.append(" extends ").append(superClass);
+    }
+    text.append(" {\n");
+    appendFields(text, "private ");
+    text.append("  public static ").append(className).append(" create() {\n    return builder()");
+    for (int fieldIndex = 0; fieldIndex < Math.min(myFieldsPerClass, 5); fieldIndex++) {
+      text.append(".field").append(fieldIndex).append(fieldIndex % 3 == 0 ? "(1)" : "(\"a\")");
+    }
+    text.append(".build();\n  }\n");
+    return text.append("}\n").toString();
+  }
+
+  private String generateDelegateClass(String packageName, String className) {
+    StringBuilder text = new StringBuilder("package ").append(packageName).append(";\n");
+    text.append("public class ").append(className).append(" {\n");
+    text.append("  @lombok.experimental.Delegate\n  private final java.util.List<String> items = new java.util.ArrayList<>();\n");
+    appendFields(text, "private ");
+    text.append("  public int use() {\n    add(\"a\");\n    return size();\n  }\n");
+    return text.append("}\n").toString();
+  }
+
+  private String generateExtensionMethodClass(String packageName, String className, String rootPackage) {
+    StringBuilder text = new StringBuilder("package ").append(packageName).append(";\n");
+    text.append("@lombok.experimental.ExtensionMethod(").append(rootPackage).append(".Extensions.class)\n");
+    text.append("public class ").append(className).append(" {\n");
+    appendFields(text, "private ");
+    text.append("  public String use(String in, Integer number) {\n")
+      .append("    return in.twice() + number.doubled() + in.listOf().size();\n  }\n");
+    return text.append("}\n").toString();
+  }
+
+  private String generateValClass(String packageName, String className) {
+    StringBuilder text = new StringBuilder("package ").append(packageName).append(";\n");
+    text.append("import lombok.val;\nimport lombok.var;\n");
+    text.append("public class ").append(className).append(" {\n");
+    appendFields(text, "private ");
+    text.append("  public int use() {\n    val v0 = new java.util.ArrayList<java.util.Map<String, Integer>>();\n");
+    for (int index = 1; index <= Math.max(myFieldsPerClass, 1); index++) {
+      text.append("    val v").append(index).append(" = java.util.Collections.unmodifiableList(v").append(index - 1).append(");\n");
+    }
+    text.append("    var result = v").append(Math.max(myFieldsPerClass, 1)).append(".size();\n    return result;\n  }\n");
+    return text.append("}\n").toString();
+  }
+
+  private String generatePlainClass(String packageName, String className) {
+    StringBuilder text = new StringBuilder("package ").append(packageName).append(";\n");
+    text.append("public class ").append(className).append(" {\n");
+    appendFields(text, "private ");
+    return text.append("}\n").toString();
+  }
+}
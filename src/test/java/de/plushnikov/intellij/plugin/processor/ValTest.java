@@ -1,5 +1,7 @@
 package de.plushnikov.intellij.plugin.processor;
 
+import com.intellij.openapi.command.WriteCommandAction;
+import com.intellij.openapi.editor.Document;
 import com.intellij.psi.*;
 import com.intellij.psi.util.PsiTreeUtil;
 import de.plushnikov.intellij.plugin.AbstractLombokLightCodeInsightTestCase;
@@ -131,6 +133,84 @@ public class ValTest extends AbstractLombokLightCodeInsightTestCase {
     assertEquals("java.util.Optional<java.lang.Integer>", typeAfter.getCanonicalText(false));
   }
 
+  public void testChainedDeclarationsInferredInBatch() {
+    myFixture.configureByText("a.java", """
+      import lombok.val;
+      import lombok.var;
+      abstract class Test {
+          private void test() {
+             val a = new java.util.ArrayList<String>();
+             var b = java.util.Collections.unmodifiableList(a);
+             val c = b.get(0);
+          }
+      }
+      """);
+
+    final PsiMethod method = PsiTreeUtil.findChildOfType(myFixture.getFile(), PsiMethod.class);
+    assertNotNull(method);
+    final java.util.Map<PsiTypeElement, PsiType> types = ValProcessor.inferTypes(method.getBody());
+    assertEquals(3, types.size());
+    assertEquals(java.util.List.of("java.util.ArrayList<java.lang.String>", "java.util.List<java.lang.String>", "java.lang.String"),
+                 types.values().stream().map(PsiType::getCanonicalText).toList());
+  }
+
+  public void testInferredTypeFollowsCodeBlockChange() {
+    configureClass("100");
+    verifyLocalVariableType("int");
+
+    WriteCommandAction.runWriteCommandAction(getProject(), () -> {
+      final Document document = myFixture.getEditor().getDocument();
+      final int offset = document.getText().indexOf("100");
+      document.replaceString(offset, offset + 3, "\"abc\"");
+      PsiDocumentManager.getInstance(getProject()).commitDocument(document);
+    });
+    verifyLocalVariableType("java.lang.String");
+  }
+
+  public void testInferredTypeSurvivesChangeOfOtherCodeBlock() {
+    configureClass("new java.util.ArrayList<String>()", "private void other() { int b = 1; }\n");
+    final PsiElement elementAtCaret = myFixture.getFile().findElementAt(myFixture.getCaretOffset());
+    final PsiLocalVariable localVariable = PsiTreeUtil.getParentOfType(elementAtCaret, PsiLocalVariable.class);
+    assertNotNull(localVariable);
+    final PsiType type = ValProcessor.inferType(localVariable.getTypeElement());
+    assertNotNull(type);
+
+    WriteCommandAction.runWriteCommandAction(getProject(), () -> {
+      final Document document = myFixture.getEditor().getDocument();
+      final int offset = document.getText().indexOf("b = 1") + 4;
+      document.replaceString(offset, offset + 1, "2");
+      PsiDocumentManager.getInstance(getProject()).commitDocument(document);
+    });
+    assertSame(type, ValProcessor.inferType(localVariable.getTypeElement()));
+  }
+
+  public void testOnDemandImport() {
+    myFixture.configureByText("a.java", """
+      import lombok.*;
+      abstract class Test {
+          private void test() {
+             val my<caret>Var = "abc";
+          }
+      }
+      """);
+    verifyLocalVariableType("java.lang.String");
+  }
+
+  public void testNoInferenceWithoutImport() {
+    myFixture.configureByText("a.java", """
+      abstract class Test {
+          private void test() {
+             val myVar = "abc";
+             java.util.List<String> other = null;
+          }
+      }
+      """);
+
+    for (PsiLocalVariable localVariable : PsiTreeUtil.findChildrenOfType(myFixture.getFile(), PsiLocalVariable.class)) {
+      assertFalse(ValProcessor.canInferType(localVariable.getTypeElement()));
+    }
+  }
+
   private void configureClass(String valDefinition) {
     configureClass(valDefinition, "");
   }
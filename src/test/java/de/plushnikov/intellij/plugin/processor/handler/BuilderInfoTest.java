@@ -0,0 +1,66 @@
+package de.plushnikov.intellij.plugin.processor.handler;
+
+import com.intellij.openapi.command.WriteCommandAction;
+import com.intellij.psi.JavaPsiFacade;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiField;
+import com.intellij.psi.PsiModifierList;
+import com.intellij.psi.PsiType;
+import com.intellij.psi.PsiTypes;
+import de.plushnikov.intellij.plugin.AbstractLombokLightCodeInsightTestCase;
+
+public class BuilderInfoTest extends AbstractLombokLightCodeInsightTestCase {
+
+  public void testEveryCallGetsOwnCopy() {
+    final PsiClass psiClass = myFixture.addClass("@lombok.Builder public class Foo { private int value; }");
+    final PsiField psiField = psiClass.findFieldByName("value", false);
+    assertNotNull(psiField);
+
+    final BuilderInfo firstInfo = BuilderInfo.fromPsiField(psiField);
+    final BuilderInfo secondInfo = BuilderInfo.fromPsiField(psiField);
+    assertNotSame(firstInfo, secondInfo);
+
+    firstInfo.withSetterPrefix("with");
+    assertEquals("with", firstInfo.getSetterPrefix());
+    assertNull(secondInfo.getSetterPrefix());
+    assertEquals("value", secondInfo.getFieldName());
+  }
+
+  public void testChangedFieldIsCollectedAgain() {
+    final PsiClass psiClass = myFixture.addClass("@lombok.Builder public class Foo { private int value; }");
+    final PsiField psiField = psiClass.findFieldByName("value", false);
+    assertNotNull(psiField);
+    assertEquals(PsiTypes.intType(), BuilderInfo.fromPsiField(psiField).getFieldType());
+
+    WriteCommandAction.runWriteCommandAction(getProject(), () -> {
+      psiField.getTypeElement().replace(JavaPsiFacade.getElementFactory(getProject()).createTypeElement(PsiTypes.longType()));
+    });
+    assertEquals(PsiTypes.longType(), BuilderInfo.fromPsiField(psiField).getFieldType());
+  }
+
+  public void testAddingOtherFieldKeepsCachedInfo() {
+    final PsiClass psiClass = myFixture.addClass("@lombok.Builder public class Foo { private int value; }");
+    final PsiField psiField = psiClass.findFieldByName("value", false);
+    assertNotNull(psiField);
+    final PsiType typeBefore = BuilderInfo.fromPsiField(psiField).getFieldType();
+
+    WriteCommandAction.runWriteCommandAction(getProject(), () -> {
+      psiClass.add(JavaPsiFacade.getElementFactory(getProject()).createField("other", PsiTypes.longType()));
+    });
+    assertSame(typeBefore, BuilderInfo.fromPsiField(psiField).getFieldType());
+  }
+
+  public void testChangedAccessorsOfClassAreCollectedAgain() {
+    final PsiClass psiClass = myFixture.addClass("@lombok.Builder public class Foo { private int fValue; }");
+    final PsiField psiField = psiClass.findFieldByName("fValue", false);
+    assertNotNull(psiField);
+    assertEquals("fValue", BuilderInfo.fromPsiField(psiField).getFieldName());
+
+    WriteCommandAction.runWriteCommandAction(getProject(), () -> {
+      final PsiModifierList modifierList = psiClass.getModifierList();
+      assertNotNull(modifierList);
+      modifierList.addAnnotation("lombok.experimental.Accessors(prefix = \"f\")");
+    });
+    assertEquals("value", BuilderInfo.fromPsiField(psiField).getFieldName());
+  }
+}
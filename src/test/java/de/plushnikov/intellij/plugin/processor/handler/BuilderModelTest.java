@@ -0,0 +1,94 @@
+package de.plushnikov.intellij.plugin.processor.handler;
+
+import com.intellij.openapi.command.WriteCommandAction;
+import com.intellij.psi.PsiAnnotation;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiCodeBlock;
+import com.intellij.psi.PsiElementFactory;
+import com.intellij.psi.PsiMethod;
+import de.plushnikov.intellij.plugin.AbstractLombokLightCodeInsightTestCase;
+import de.plushnikov.intellij.plugin.LombokClassNames;
+
+import java.util.List;
+
+public class BuilderModelTest extends AbstractLombokLightCodeInsightTestCase {
+
+  public void testGeneratedBuilderClassIsShared() {
+    final PsiClass psiClass = myFixture.addClass("@lombok.Builder public class Foo { private int value; private String name; }");
+    final PsiAnnotation psiAnnotation = psiClass.getAnnotation(LombokClassNames.BUILDER);
+    assertNotNull(psiAnnotation);
+
+    final BuilderModel builderModel = BuilderModel.getInstance(psiClass, null, psiAnnotation);
+    assertSame(builderModel, BuilderModel.getInstance(psiClass, null, psiAnnotation));
+    assertTrue(builderModel.isValid());
+    assertEquals("FooBuilder", builderModel.getBuilderClassName());
+    assertEquals("build", builderModel.getBuildMethodName());
+    assertEquals("builder", builderModel.getBuilderMethodName());
+
+    final PsiClass builderClass = psiClass.findInnerClassByName("FooBuilder", false);
+    assertNotNull(builderClass);
+    assertSame(builderClass, builderModel.getBuilderClass());
+    assertTrue(builderModel.getExistingBuilderClass().isEmpty());
+
+    assertSame(builderModel.getBuilderInfos(builderClass), builderModel.getBuilderInfos(builderClass));
+    assertEquals(2, builderModel.getBuilderInfos(builderClass).size());
+  }
+
+  public void testPredefinedBuilderClass() {
+    final PsiClass psiClass = myFixture.addClass("""
+                                                   public class Foo {
+                                                     private int value;
+                                                     @lombok.Builder
+                                                     public static Foo create(int value) { return null; }
+                                                     public static class FooBuilder {}
+                                                   }""");
+    final PsiMethod psiMethod = psiClass.findMethodsByName("create", false)[0];
+    final PsiAnnotation psiAnnotation = psiMethod.getAnnotation(LombokClassNames.BUILDER);
+    assertNotNull(psiAnnotation);
+
+    final BuilderModel builderModel = BuilderModel.getInstance(psiClass, psiMethod, psiAnnotation);
+    final PsiClass builderClass = psiClass.findInnerClassByName("FooBuilder", false);
+    assertNotNull(builderClass);
+    assertSame(builderClass, builderModel.getExistingBuilderClass().orElse(null));
+    assertSame(builderClass, builderModel.getBuilderClass());
+    assertNotNull(builderClass.findMethodsByName("value", false));
+    assertEquals(1, builderModel.getBuilderInfos(builderClass).size());
+  }
+
+  public void testSharedBuilderInfosAreCompleteAndUnmodifiable() {
+    final PsiClass psiClass = myFixture.addClass("""
+                                                   @lombok.Builder(toBuilder = true)
+                                                   public class Foo {
+                                                     @lombok.Builder.ObtainVia(method = "computeValue") private int value;
+                                                     private int computeValue() { return 0; }
+                                                   }""");
+    final PsiAnnotation psiAnnotation = psiClass.getAnnotation(LombokClassNames.BUILDER);
+    assertNotNull(psiAnnotation);
+
+    final BuilderModel builderModel = BuilderModel.getInstance(psiClass, null, psiAnnotation);
+    final List<BuilderInfo> builderInfos = builderModel.getBuilderInfos(builderModel.getBuilderClass());
+    assertSize(1, builderInfos);
+    assertTrue(builderInfos.get(0).hasObtainViaAnnotation());
+    assertEquals("computeValue", builderInfos.get(0).getViaMethodName());
+    assertThrows(UnsupportedOperationException.class, () -> builderInfos.remove(0));
+  }
+
+  public void testModelSurvivesChangeInsideCodeBlock() {
+    final PsiClass psiClass = myFixture.addClass("@lombok.Builder public class Foo { private int value; void foo() { } }");
+    final PsiAnnotation psiAnnotation = psiClass.getAnnotation(LombokClassNames.BUILDER);
+    assertNotNull(psiAnnotation);
+    final BuilderModel builderModel = BuilderModel.getInstance(psiClass, null, psiAnnotation);
+
+    final PsiCodeBlock body = psiClass.findMethodsByName("foo", false)[0].getBody();
+    assertNotNull(body);
+    WriteCommandAction.runWriteCommandAction(getProject(), () -> {
+      body.add(PsiElementFactory.getInstance(getProject()).createStatementFromText("int i = 1;", body));
+    });
+    assertSame(builderModel, BuilderModel.getInstance(psiClass, null, psiAnnotation));
+
+    WriteCommandAction.runWriteCommandAction(getProject(), () -> {
+      psiClass.add(PsiElementFactory.getInstance(getProject()).createFieldFromText("private int other;", psiClass));
+    });
+    assertNotSame(builderModel, BuilderModel.getInstance(psiClass, null, psiAnnotation));
+  }
+}
@@ -0,0 +1,41 @@
+package de.plushnikov.intellij.plugin.processor.handler;
+
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiMethod;
+import com.intellij.psi.PsiType;
+import de.plushnikov.intellij.plugin.AbstractLombokLightCodeInsightTestCase;
+
+public class DelegateHandlerTest extends AbstractLombokLightCodeInsightTestCase {
+
+  public void testSharedDelegateTargetKeepsOwnMethodsOfEveryClass() {
+    final PsiClass firstClass = myFixture.addClass("""
+                                                     public class First {
+                                                       @lombok.experimental.Delegate private final java.util.List<String> items = null;
+                                                     }""");
+    final PsiClass secondClass = myFixture.addClass("""
+                                                      public class Second {
+                                                        @lombok.experimental.Delegate private final java.util.List<String> items = null;
+                                                        public int size() { return 0; }
+                                                      }""");
+
+    final PsiMethod[] firstSizeMethods = firstClass.findMethodsByName("size", false);
+    assertEquals(1, firstSizeMethods.length);
+    assertFalse(firstSizeMethods[0].isPhysical());
+
+    final PsiMethod[] secondSizeMethods = secondClass.findMethodsByName("size", false);
+    assertEquals(1, secondSizeMethods.length);
+    assertTrue(secondSizeMethods[0].isPhysical());
+  }
+
+  public void testDelegateTargetWithTypeParameterOfClass() {
+    final PsiClass psiClass = myFixture.addClass("""
+                                                   public class Holder<T> {
+                                                     @lombok.experimental.Delegate private final java.util.List<T> items = null;
+                                                   }""");
+
+    final PsiMethod getMethod = psiClass.findMethodsByName("get", false)[0];
+    final PsiType returnType = getMethod.getReturnType();
+    assertNotNull(returnType);
+    assertEquals("T", returnType.getCanonicalText());
+  }
+}
@@ -0,0 +1,42 @@
+package de.plushnikov.intellij.plugin.processor.handler;
+
+import com.intellij.psi.PsiAnnotation;
+import com.intellij.psi.PsiClass;
+import de.plushnikov.intellij.plugin.AbstractLombokLightCodeInsightTestCase;
+import de.plushnikov.intellij.plugin.LombokClassNames;
+import de.plushnikov.intellij.plugin.lombokconfig.ConfigKey;
+import de.plushnikov.intellij.plugin.processor.handler.EqualsAndHashCodeToStringHandler.MemberInfo;
+
+import java.util.Collection;
+import java.util.List;
+
+public class EqualsAndHashCodeToStringHandlerTest extends AbstractLombokLightCodeInsightTestCase {
+
+  public void testMemberSelectionIsShared() {
+    final PsiClass psiClass = myFixture.addClass("""
+                                                   @lombok.Data
+                                                   public class Foo {
+                                                     private int value;
+                                                     private transient String cache;
+                                                     @lombok.ToString.Exclude private String secret;
+                                                   }""");
+    final PsiAnnotation psiAnnotation = psiClass.getAnnotation(LombokClassNames.DATA);
+    assertNotNull(psiAnnotation);
+
+    final Collection<MemberInfo> toStringMembers = filterToStringMembers(psiClass, psiAnnotation);
+    assertSame(toStringMembers, filterToStringMembers(psiClass, psiAnnotation));
+    assertEquals(List.of("value", "cache"), toStringMembers.stream().map(MemberInfo::getName).toList());
+
+    final Collection<MemberInfo> equalsMembers =
+      EqualsAndHashCodeToStringHandler.filterMembers(psiClass, psiAnnotation, true, "replaces", null,
+                                                     LombokClassNames.EQUALS_AND_HASHCODE_INCLUDE,
+                                                     LombokClassNames.EQUALS_AND_HASHCODE_EXCLUDE);
+    assertEquals(List.of("value", "secret"), equalsMembers.stream().map(MemberInfo::getName).toList());
+  }
+
+  private static Collection<MemberInfo> filterToStringMembers(PsiClass psiClass, PsiAnnotation psiAnnotation) {
+    return EqualsAndHashCodeToStringHandler.filterMembers(psiClass, psiAnnotation, false, "name",
+                                                          ConfigKey.TOSTRING_ONLY_EXPLICITLY_INCLUDED,
+                                                          LombokClassNames.TO_STRING_INCLUDE, LombokClassNames.TO_STRING_EXCLUDE);
+  }
+}
@@ -0,0 +1,92 @@
+package de.plushnikov.intellij.plugin.processor.handler;
+
+import com.intellij.openapi.command.WriteCommandAction;
+import com.intellij.psi.PsiAnnotation;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiCodeBlock;
+import com.intellij.psi.PsiElementFactory;
+import de.plushnikov.intellij.plugin.AbstractLombokLightCodeInsightTestCase;
+import de.plushnikov.intellij.plugin.LombokClassNames;
+
+public class SuperBuilderModelTest extends AbstractLombokLightCodeInsightTestCase {
+
+  public void testSubclassBuilderExtendsParentBuilder() {
+    final PsiClass parentClass = myFixture.addClass("@lombok.experimental.SuperBuilder public class Parent { private int value; }");
+    final PsiClass childClass = myFixture.addClass("@lombok.experimental.SuperBuilder public class Child extends Parent { private String name; }");
+
+    final SuperBuilderModel parentModel = getModel(parentClass);
+    final SuperBuilderModel childModel = getModel(childClass);
+    assertSame(childModel, getModel(childClass));
+    assertTrue(childModel.isValid());
+    assertEquals("ChildBuilder", childModel.getBuilderClassName());
+    assertEquals("ChildBuilderImpl", childModel.getBuilderImplClassName());
+
+    assertSame(childModel.getBuilderClass(), childClass.findInnerClassByName("ChildBuilder", false));
+    assertSame(parentModel.getBuilderClass(), childModel.getBuilderClass().getSuperClass());
+    assertSame(childModel.getBuilderClass(), childModel.getBuilderImplClass().getSuperClass());
+  }
+
+  public void testModelSurvivesChangeInsideCodeBlock() {
+    final PsiClass parentClass = myFixture.addClass("@lombok.experimental.SuperBuilder public class Parent { private int value; void foo() { } }");
+    final SuperBuilderModel parentModel = getModel(parentClass);
+    final PsiClass builderClass = parentModel.getBuilderClass();
+
+    final PsiCodeBlock body = parentClass.findMethodsByName("foo", false)[0].getBody();
+    assertNotNull(body);
+    WriteCommandAction.runWriteCommandAction(getProject(), () -> {
+      body.add(PsiElementFactory.getInstance(getProject()).createStatementFromText("int i = 1;", body));
+    });
+
+    assertSame(parentModel, getModel(parentClass));
+    assertSame(builderClass, getModel(parentClass).getBuilderClass());
+  }
+
+  public void testChangeInvalidatesOnlyTheChangedBranch() {
+    final PsiClass parentClass = myFixture.addClass("@lombok.experimental.SuperBuilder public class Parent { private int value; }");
+    final PsiClass childClass = myFixture.addClass("@lombok.experimental.SuperBuilder public class Child extends Parent { private String name; }");
+    final PsiClass otherClass = myFixture.addClass("@lombok.experimental.SuperBuilder public class Other { private int value; }");
+    final SuperBuilderModel parentModel = getModel(parentClass);
+    final SuperBuilderModel childModel = getModel(childClass);
+    final SuperBuilderModel otherModel = getModel(otherClass);
+
+    addField(childClass, "private int age;");
+    assertSame(parentModel, getModel(parentClass));
+    assertSame(otherModel, getModel(otherClass));
+    final SuperBuilderModel changedChildModel = getModel(childClass);
+    assertNotSame(childModel, changedChildModel);
+
+    addField(parentClass, "private int size;");
+    assertNotSame(parentModel, getModel(parentClass));
+    assertNotSame(changedChildModel, getModel(childClass));
+    assertSame(otherModel, getModel(otherClass));
+  }
+
+  public void testSingularModelFollowsChangeOfReferencedType() {
+    final PsiClass valueClass = myFixture.addClass("public class Value { }");
+    final PsiClass parentClass = myFixture.addClass("""
+                                                      @lombok.experimental.SuperBuilder
+                                                      public class Parent {
+                                                        @lombok.Singular private java.util.List<Value> values;
+                                                      }""");
+    final SuperBuilderModel parentModel = getModel(parentClass);
+    assertTrue(parentModel.isValid());
+
+    WriteCommandAction.runWriteCommandAction(getProject(), () -> {
+      valueClass.add(PsiElementFactory.getInstance(getProject()).createMethodFromText("void foo() { }", valueClass));
+    });
+
+    assertNotSame(parentModel, getModel(parentClass));
+  }
+
+  private void addField(PsiClass psiClass, String fieldText) {
+    WriteCommandAction.runWriteCommandAction(getProject(), () -> {
+      psiClass.add(PsiElementFactory.getInstance(getProject()).createFieldFromText(fieldText, psiClass));
+    });
+  }
+
+  private static SuperBuilderModel getModel(PsiClass psiClass) {
+    final PsiAnnotation psiAnnotation = psiClass.getAnnotation(LombokClassNames.SUPER_BUILDER);
+    assertNotNull(psiAnnotation);
+    return SuperBuilderModel.getInstance(psiClass, psiAnnotation);
+  }
+}
@@ -1,5 +1,6 @@
 package de.plushnikov.intellij.plugin.processor.modifier;
 
+import com.intellij.psi.PsiClass;
 import com.intellij.psi.PsiField;
 import com.intellij.psi.PsiFile;
 import com.intellij.psi.PsiModifier;
@@ -127,6 +128,21 @@ public class FieldDefaultsModifierTest extends AbstractLombokLightCodeInsightTes
 
   //</editor-fold>
 
+  //<editor-fold desc="Handling of lombok.config">
+
+  public void testFieldDefaultsConfigChangeIsVisible() {
+    final PsiClass psiClass = myFixture.addClass("package config; public class Foo { int value; }");
+    final PsiModifierList modifierList = psiClass.getFields()[0].getModifierList();
+    assertNotNull(modifierList);
+    assertTrue("Field should stay package local without config", modifierList.hasModifierProperty(PsiModifier.PACKAGE_LOCAL));
+
+    myFixture.addFileToProject("config/lombok.config", "lombok.fieldDefaults.defaultPrivate = true");
+
+    assertTrue("lombok.fieldDefaults.defaultPrivate should make fields private", modifierList.hasModifierProperty(PsiModifier.PRIVATE));
+  }
+
+  //</editor-fold>
+
   //<editor-fold desc="Internal support methods">
 
   @NotNull
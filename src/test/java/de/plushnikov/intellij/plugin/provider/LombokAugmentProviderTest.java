@@ -0,0 +1,172 @@
+package de.plushnikov.intellij.plugin.provider;
+
+import com.intellij.openapi.command.WriteCommandAction;
+import com.intellij.psi.JavaPsiFacade;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiCodeBlock;
+import com.intellij.psi.PsiJavaFile;
+import com.intellij.psi.PsiMethod;
+import com.intellij.psi.PsiModifier;
+import com.intellij.psi.PsiModifierList;
+import com.intellij.psi.PsiTypes;
+import de.plushnikov.intellij.plugin.AbstractLombokLightCodeInsightTestCase;
+import de.plushnikov.intellij.plugin.processor.LombokProcessorManager;
+import de.plushnikov.intellij.plugin.processor.Processor;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+public class LombokAugmentProviderTest extends AbstractLombokLightCodeInsightTestCase {
+
+  public void testNameHintedAugmentsMatchFullAugments() {
+    final PsiClass psiClass = configureClass("""
+                                               @lombok.Data
+                                               @lombok.Builder
+                                               public class Foo {
+                                                 private int bar;
+                                                 private String baz;
+                                               }
+                                               """);
+
+    final PsiMethod[] getBarMethods = psiClass.findMethodsByName("getBar", false);
+    assertSize(1, getBarMethods);
+    assertSize(1, psiClass.findMethodsByName("setBaz", false));
+    assertSize(1, psiClass.findMethodsByName("builder", false));
+    assertSize(0, psiClass.findMethodsByName("getUnknown", false));
+
+    final long allGetBarMethods = Arrays.stream(psiClass.getMethods()).filter(m -> m.getName().equals("getBar")).count();
+    assertEquals(allGetBarMethods, getBarMethods.length);
+  }
+
+  public void testNamesOfPossibleGeneratedElements() {
+    final PsiClass psiClass = configureClass("""
+                                               @lombok.Getter
+                                               public class Foo {
+                                                 private int bar;
+                                                 @lombok.Setter private String baz;
+                                               }
+                                               """);
+
+    final LombokProcessorManager manager = LombokProcessorManager.getInstance();
+    final Collection<String> getterNames = manager.getGetterProcessor().getNamesOfPossibleGeneratedElements(psiClass);
+    assertNotNull(getterNames);
+    assertSameElements(getterNames, "getBar", "getBaz");
+
+    final Collection<String> setterNames = manager.getSetterFieldProcessor().getNamesOfPossibleGeneratedElements(psiClass);
+    assertNotNull(setterNames);
+    assertSameElements(setterNames, "setBaz");
+
+    assertEmpty(manager.getBuilderProcessor().getNamesOfPossibleGeneratedElements(psiClass));
+    assertEmpty(manager.getDelegateFieldProcessor().getNamesOfPossibleGeneratedElements(psiClass));
+    assertEmpty(manager.getLogProcessor().getNamesOfPossibleGeneratedElements(psiClass));
+  }
+
+  public void testProcessorsOfPlainClass() {
+    final PsiClass psiClass = configureClass("""
+                                               public class Foo {
+                                                 private int bar;
+                                                 public int getBar() { return bar; }
+                                               }
+                                               """);
+
+    assertTrue(LombokProcessorManager.getLombokAnnotationBits(psiClass).isEmpty());
+    assertEmpty(LombokProcessorManager.getProcessors(PsiMethod.class, psiClass));
+  }
+
+  public void testProcessorsOfAnnotatedClass() {
+    final PsiClass psiClass = configureClass("""
+                                               import lombok.Getter;
+                                               public class Foo {
+                                                 @Getter private int bar;
+                                               }
+                                               """);
+
+    final LombokProcessorManager manager = LombokProcessorManager.getInstance();
+    final Collection<Processor> processors = LombokProcessorManager.getProcessors(PsiMethod.class, psiClass);
+    assertContainsElements(processors, manager.getGetterFieldProcessor(), manager.getGetterProcessor());
+    assertDoesntContain(processors, manager.getBuilderProcessor(), manager.getDelegateFieldProcessor(), manager.getDataProcessor());
+  }
+
+  public void testProcessorsOfPredefinedBuilderClass() {
+    final PsiClass psiClass = configureClass("""
+                                               @lombok.Builder
+                                               public class Foo {
+                                                 private int bar;
+                                                 public static class FooBuilder {
+                                                 }
+                                               }
+                                               """);
+
+    final PsiClass builderClass = psiClass.findInnerClassByName("FooBuilder", false);
+    assertNotNull(builderClass);
+    final LombokProcessorManager manager = LombokProcessorManager.getInstance();
+    assertContainsElements(LombokProcessorManager.getProcessors(PsiMethod.class, builderClass),
+                           manager.getBuilderPreDefinedInnerClassMethodProcessor());
+  }
+
+  public void testModifiersOfFileWithoutLombokAreNotCopied() {
+    final PsiClass psiClass = configureClass("""
+                                               public class Foo {
+                                                 int bar;
+                                               }
+                                               """);
+    final PsiModifierList modifierList = psiClass.getFields()[0].getModifierList();
+    assertNotNull(modifierList);
+
+    final Set<String> modifiers = Set.of(PsiModifier.PACKAGE_LOCAL);
+    assertSame(modifiers, new LombokAugmentProvider().transformModifiers(modifierList, modifiers));
+  }
+
+  public void testModifiersOfFileWithLombok() {
+    final PsiClass psiClass = configureClass("""
+                                               @lombok.Value
+                                               public class Foo {
+                                                 int bar;
+                                               }
+                                               """);
+    final PsiModifierList modifierList = psiClass.getFields()[0].getModifierList();
+    assertNotNull(modifierList);
+
+    final Set<String> modifiers = new LombokAugmentProvider().transformModifiers(modifierList, Set.of(PsiModifier.PACKAGE_LOCAL));
+    assertSameElements(modifiers, PsiModifier.PRIVATE, PsiModifier.FINAL);
+  }
+
+  public void testAugmentsSurviveChangeInsideCodeBlock() {
+    final PsiClass psiClass = configureClass("""
+                                               @lombok.Getter
+                                               public class Foo {
+                                                 private int bar;
+                                                 public void foo() {
+                                                 }
+                                               }
+                                               """);
+    final PsiMethod getBar = findAugmentedMethod(psiClass, "getBar");
+
+    final PsiMethod fooMethod = psiClass.findMethodsByName("foo", false)[0];
+    WriteCommandAction.runWriteCommandAction(getProject(), () -> {
+      final PsiCodeBlock body = fooMethod.getBody();
+      assertNotNull(body);
+      body.add(JavaPsiFacade.getElementFactory(getProject()).createStatementFromText("int baz = 1;", body));
+    });
+    assertSame(getBar, findAugmentedMethod(psiClass, "getBar"));
+
+    WriteCommandAction.runWriteCommandAction(getProject(), () -> {
+      psiClass.add(JavaPsiFacade.getElementFactory(getProject()).createField("baz", PsiTypes.longType()));
+    });
+    assertNotSame(getBar, findAugmentedMethod(psiClass, "getBar"));
+    findAugmentedMethod(psiClass, "getBaz");
+  }
+
+  private static PsiMethod findAugmentedMethod(PsiClass psiClass, String name) {
+    final List<PsiMethod> methods = new LombokAugmentProvider().getAugments(psiClass, PsiMethod.class, name);
+    assertSize(1, methods);
+    return methods.get(0);
+  }
+
+  private PsiClass configureClass(String text) {
+    final PsiJavaFile psiJavaFile = (PsiJavaFile)myFixture.configureByText("Foo.java", text);
+    return psiJavaFile.getClasses()[0];
+  }
+}
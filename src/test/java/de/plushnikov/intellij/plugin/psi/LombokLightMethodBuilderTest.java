@@ -0,0 +1,69 @@
+package de.plushnikov.intellij.plugin.psi;
+
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiCodeBlock;
+import com.intellij.psi.PsiModifier;
+import com.intellij.psi.PsiTypes;
+import com.intellij.testFramework.PlatformTestUtil;
+import de.plushnikov.intellij.plugin.AbstractLombokLightCodeInsightTestCase;
+
+public class LombokLightMethodBuilderTest extends AbstractLombokLightCodeInsightTestCase {
+
+  private LombokLightMethodBuilder createMethod(PsiClass psiClass, String name) {
+    return new LombokLightMethodBuilder(getPsiManager(), name)
+      .withContainingClass(psiClass)
+      .withModifier(PsiModifier.PUBLIC)
+      .withMethodReturnType(PsiTypes.intType());
+  }
+
+  public void testBodyTextIsSharedBetweenMethods() {
+    final PsiClass firstClass = myFixture.addClass("class First { int value; }");
+    final PsiClass secondClass = myFixture.addClass("class Second { int value; }");
+
+    final LombokLightMethodBuilder firstMethod = createMethod(firstClass, "getValue").withBodyText(method -> "return this.value;");
+    final LombokLightMethodBuilder secondMethod = createMethod(secondClass, "getValue").withBodyText(new String("return this.value;"));
+
+    assertSame(firstMethod.getBodyText(), secondMethod.getBodyText());
+  }
+
+  public void testBodyIsParsedOnDemand() {
+    final PsiClass psiClass = myFixture.addClass("class First { int value; }");
+    final LombokLightMethodBuilder method = createMethod(psiClass, "getValue").withBodyText(m -> "return this.value;");
+
+    final PsiCodeBlock body = method.getBody();
+    assertNotNull(body);
+    assertEquals(1, body.getStatementCount());
+    assertTrue(method.getText(), method.getText().contains("return this.value;"));
+  }
+
+  public void testBodyIsParsedOnlyOnce() {
+    final PsiClass psiClass = myFixture.addClass("class First { int value; }");
+    final LombokLightMethodBuilder method = createMethod(psiClass, "getValue").withBodyText("return this.value;");
+
+    final PsiCodeBlock body = method.getBody();
+    PlatformTestUtil.tryGcSoftlyReachableObjects();
+    assertSame(body, method.getBody());
+  }
+
+  public void testMethodWithoutBody() {
+    final PsiClass psiClass = myFixture.addClass("class First { int value; }");
+    final LombokLightMethodBuilder method = createMethod(psiClass, "getValue");
+
+    assertNull(method.getBodyText());
+    assertNull(method.getBody());
+  }
+
+  public void testEqualsComparesSignature() {
+    final PsiClass psiClass = myFixture.addClass("class First { int value; }");
+    final LombokLightMethodBuilder method = createMethod(psiClass, "setValue").withParameter("value", PsiTypes.intType());
+    final LombokLightMethodBuilder sameMethod = createMethod(psiClass, "setValue").withParameter("value", PsiTypes.intType());
+    final LombokLightMethodBuilder otherParameterMethod = createMethod(psiClass, "setValue").withParameter("value", PsiTypes.longType());
+    final LombokLightMethodBuilder otherReturnTypeMethod = createMethod(psiClass, "setValue")
+      .withParameter("value", PsiTypes.intType()).withMethodReturnType(PsiTypes.voidType());
+
+    assertEquals(method, sameMethod);
+    assertEquals(method.hashCode(), sameMethod.hashCode());
+    assertFalse(method.equals(otherParameterMethod));
+    assertFalse(method.equals(otherReturnTypeMethod));
+  }
+}
@@ -0,0 +1,43 @@
+package de.plushnikov.intellij.plugin.util;
+
+import com.intellij.openapi.command.WriteCommandAction;
+import com.intellij.openapi.util.ModificationTracker;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiCodeBlock;
+import com.intellij.psi.PsiElementFactory;
+import com.intellij.psi.PsiMethod;
+import de.plushnikov.intellij.plugin.AbstractLombokLightCodeInsightTestCase;
+
+public class JavaStructureModificationTrackerTest extends AbstractLombokLightCodeInsightTestCase {
+
+  public void testChangeInsideCodeBlockIsIgnored() {
+    final PsiClass psiClass = myFixture.addClass("public class Foo { private int value; void bar() { } }");
+    final PsiCodeBlock body = psiClass.findMethodsByName("bar", false)[0].getBody();
+    assertNotNull(body);
+
+    final ModificationTracker tracker = JavaStructureModificationTracker.getInstance(getProject());
+    final long count = tracker.getModificationCount();
+    final PsiElementFactory factory = PsiElementFactory.getInstance(getProject());
+    WriteCommandAction.runWriteCommandAction(getProject(), () -> {
+      body.add(factory.createStatementFromText("int i = 1;", body));
+    });
+    assertEquals(count, tracker.getModificationCount());
+
+    WriteCommandAction.runWriteCommandAction(getProject(), () -> {
+      body.add(factory.createStatementFromText("class Local { }", body));
+    });
+    assertTrue(count < tracker.getModificationCount());
+  }
+
+  public void testChangeOfClassMembersIsCounted() {
+    final PsiClass psiClass = myFixture.addClass("public class Foo { private int value; }");
+
+    final ModificationTracker tracker = JavaStructureModificationTracker.getInstance(getProject());
+    final long count = tracker.getModificationCount();
+    WriteCommandAction.runWriteCommandAction(getProject(), () -> {
+      final PsiMethod method = PsiElementFactory.getInstance(getProject()).createMethodFromText("void bar() { }", psiClass);
+      psiClass.add(method);
+    });
+    assertTrue(count < tracker.getModificationCount());
+  }
+}
@@ -0,0 +1,40 @@
+package de.plushnikov.intellij.plugin.util;
+
+import com.intellij.openapi.application.WriteAction;
+import com.intellij.openapi.module.JavaModuleType;
+import com.intellij.openapi.module.Module;
+import com.intellij.openapi.module.ModuleManager;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiFile;
+import com.intellij.testFramework.PsiTestUtil;
+import de.plushnikov.intellij.plugin.AbstractLombokLightCodeInsightTestCase;
+
+public class LombokLibraryUtilTest extends AbstractLombokLightCodeInsightTestCase {
+
+  public void testModuleWithLombok() {
+    final PsiFile psiFile = myFixture.configureByText("Foo.java", "public class Foo {}");
+
+    assertTrue(LombokLibraryUtil.hasLombokLibrary(getProject()));
+    assertTrue(LombokLibraryUtil.hasLombokLibrary(getModule()));
+    assertTrue(LombokLibraryUtil.hasLombokLibrary(psiFile));
+    // second call is answered from the cache
+    assertTrue(LombokLibraryUtil.hasLombokLibrary(getModule()));
+    assertTrue(LombokLibraryUtil.hasLombokLibrary(psiFile));
+  }
+
+  public void testModuleWithoutLombok() throws Exception {
+    final VirtualFile contentRoot = myFixture.getTempDirFixture().findOrCreateDir("noLombok");
+    final Module module = PsiTestUtil.addModule(getProject(), JavaModuleType.getModuleType(), "noLombok", contentRoot);
+    try {
+      final PsiFile psiFile = myFixture.addFileToProject("noLombok/Foo.java", "public class Foo {}");
+
+      assertTrue(LombokLibraryUtil.hasLombokLibrary(getProject()));
+      assertFalse(LombokLibraryUtil.hasLombokLibrary(module));
+      assertFalse(LombokLibraryUtil.hasLombokLibrary(psiFile));
+      assertFalse(LombokLibraryUtil.hasLombokLibrary(psiFile.getFirstChild()));
+    }
+    finally {
+      WriteAction.run(() -> ModuleManager.getInstance(getProject()).disposeModule(module));
+    }
+  }
+}